@@ -7,210 +7,124 @@
  */
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
 
-public class FCFS {
+public class FCFS extends Scheduler {
 
-    // The list of processes to be scheduled
-    public ArrayList<Process> processes;
+    // Pool of the running runParallel() call, null when running serially
+    private ForkJoinPool pool;
+
+    // Number of CPUs processes are dispatched to
+    private final int cpus;
 
     // Class constructor
     public FCFS(ArrayList<Process> processes) {
-        this.processes = processes;
+        this(processes, 1);
     }
 
-    public void run() {
-
-        this.processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-
-        int previousBurst = 0;
-        int previousCompleted = 0;
-
-        for (int i = 0; i < processes.size(); i++) {
-
-            // SET COMPLETED TIME OF FIRST PROCESS
-            Process current = processes.get(i);
-
-            if (current.getArrivalTime() > previousBurst && current.getArrivalTime() < previousCompleted) {
-                current.setCompletedTime(previousCompleted + current.getBurstTime());
-            } else if (current.getArrivalTime() > previousBurst) {
-                current.setCompletedTime(current.getArrivalTime() + current.getBurstTime());
-            } else {
-                current.setCompletedTime(previousBurst + current.getBurstTime());
-            }
-
-            current.setTurnaroundTime(current.getCompletedTime() - current.getArrivalTime());
-
-            current.setWaitingTime(current.getTurnaroundTime() - current.getBurstTime());
-
-            previousBurst += current.getBurstTime();
-            previousCompleted = current.getCompletedTime();
-        }
-
-
+    /**
+     * Schedules the processes on several CPUs, each process runs on the CPU that becomes free first.
+     * @param cpus Number of CPUs.
+     */
+    public FCFS(ArrayList<Process> processes, int cpus) {
+        super(processes);
+        this.cpus = checkCpus(cpus);
     }
 
-    public void printTable() {
-        System.out.println("------------------------------------");
-        System.out.println("PID\tAT\tBT\tCT\tTAT\tWT");
-        for (Process p : processes) {
-            System.out.println(p.processId + "\t" + p.getArrivalTime() + "\t" + p.getBurstTime() + "\t" + p.getCompletedTime() + "\t" + p.getTurnaroundTime() + "\t" + p.getWaitingTime());
-        }
-        System.out.println("------------------------------------");
+    /**
+     * Schedules a process table directly, without any Process objects.
+     * @param table Table to be scheduled, sorted by arrival time in place by run().
+     */
+    public FCFS(ProcessTable table) {
+        this(table, 1);
     }
 
-    public void printGanttChart() {
-
-        int totalSpace = 0;
-        int[] space = calcProcessSpace();
-        totalSpace += calcCPUWaitTime();
-        totalSpace += calcTotalSpace(space);
-
-
-        printSymbolAmount(totalSpace, '='); // TOP BORDER
-
-        System.out.println();
-
-        for (int i = 0; i < processes.size(); i++) {
-            /////////////////////////////////////////////////////////////
-            ///// START OF CENTER BLOCK
-
-            if (i == 0) {
-                printWaitSymbol(processes.get(i), null, '*');
-            } else {
-                printWaitSymbol(processes.get(i), processes.get(i - 1), '*');
-            }
-
-            System.out.print("|");
-
-            printSymbolAmount((space[i]), ' '); // SPACE BETWEEN PROCESS ID
-
-            System.out.print("P" + processes.get(i).getProcessId());
-
-            printSymbolAmount((space[i]), ' '); // SPACE BETWEEN PROCESS ID
-
-            System.out.print("|");
-            ////// END OF CENTER BLOCK
-            /////////////////////////////////////////////////////////////
-        }
-
-        System.out.println();
-
-        printSymbolAmount(totalSpace, '='); // BOTTOM BORDER
-        System.out.println();
-
-        //////////////////////////////////////////////////////////
-        // TIME BLOCK/////////////
-        Process previous = null;
-        int end = 0;
-        int previousEnd = 0;
-        for (int i = 0; i < processes.size(); i++) {
-
-            printWaitSymbol(processes.get(i), previous, ' ');
-            int start = calcProcessStart(previous, processes.get(i));
-            end = processes.get(i).getCompletedTime();
-
+    /**
+     * Schedules a process table on several CPUs, each process runs on the CPU that becomes free first.
+     * @param cpus Number of CPUs.
+     */
+    public FCFS(ProcessTable table, int cpus) {
+        super(table);
+        this.cpus = checkCpus(cpus);
+    }
 
-            if (previousEnd == start && previousEnd != 0) {
-                printSymbolAmount((space[i] * 2) + 1, ' ');
-                System.out.print(end);
-            } else {
-                System.out.print(start);
-                printSymbolAmount((space[i] * 2) + 1, ' ');
-                System.out.print(end);
-            }
+    public int getCpus() {
+        return cpus;
+    }
 
-            previous = processes.get(i);
-            previousEnd = end;
+    @Override
+    protected void schedule() {
+        table.useCores(cpus > 1);
+        if (cpus > 1) {
+            scheduleCores();
+        } else if (pool != null) {
+            MaxPlusScan.schedule(table, pool, statistics);
+        } else {
+            MaxPlusScan.scheduleChunk(table, 0, table.size(), 0, statistics);
         }
-
-        /// END OF TIME BLOCK
-        //////////////////////////////////////////////////////////
-        System.out.println("\n");
     }
 
-
     /**
-     * Prints specified symbol if there is wait-time in between processes.
-     * @param
+     * Dispatches every process in arrival order to the core that becomes free first, lowest core on ties.
+     * The cores are kept in a min-heap of (free time, core), so a trace of n processes on N cores takes
+     * O(n log N).
      */
-    private void printWaitSymbol(Process current, Process previousProcess, char symbol) {
-        if (previousProcess == null) {
-            return; // No wait time if no previous process.
+    private void scheduleCores() {
+        LongMinHeap free = new LongMinHeap(cpus);
+        for (int core = 0; core < cpus; core++) {
+            free.push(LongMinHeap.key(0, core));
         }
 
-        if (current.getArrivalTime() > previousProcess.getCompletedTime()) {
-            int cpuWait = current.getArrivalTime() - previousProcess.getCompletedTime();
-            for (int i = 0; i < cpuWait; i++) {
-                System.out.print(symbol);
-            }
-        }
-    }
+        for (int i = 0; i < table.size; i++) {
+            long earliest = free.pop();
+            int core = LongMinHeap.row(earliest);
+            int start = Math.max(table.arrivalTime[i], (int) (earliest >> 32));
 
+            complete(i, start + table.burstTime[i]);
+            table.core[i] = core;
 
-    /**
-     * Prints symbol x, y times.
-     * @param amount
-     * @param symbol
-     */
-    private void printSymbolAmount(int amount, char symbol) {
-        for (int i = 0; i < amount; i++) {
-            System.out.print(symbol);
+            free.push(LongMinHeap.key(table.completedTime[i], core));
         }
     }
 
     /**
-     * @return Space needed for all the processes.
+     * Same as run(), but the schedule is computed as a parallel prefix scan on the common pool.
      */
-    private int[] calcProcessSpace() {
-        Process previous = null;
-
-        int[] space = new int[processes.size()];
-
-        for (int i = 0; i < processes.size(); i++) {
-            if (previous != null) {
-                space[i] = processes.get(i).getCompletedTime() - previous.getCompletedTime();
-            } else {
-                space[i] = processes.get(i).getCompletedTime();
-            }
-            previous = processes.get(i);
-        }
-
-        return space;
+    public void runParallel() {
+        runParallel(ForkJoinPool.commonPool());
     }
 
-
     /**
-     * Calculates total space needed for the chart.
-     * @param additionalSpace Takes previously calculated process spaces and accounts for that.
-     * @return Total space.
+     * Same as run(), but the schedule is computed as a parallel prefix scan, see MaxPlusScan.
+     * The result is identical to run(). With more than one CPU the schedule is computed serially.
+     * @param pool Pool running the scan.
      */
-    private int calcTotalSpace(int[] additionalSpace) {
-        int totalSpace = 0;
-        for (int i = 0; i < additionalSpace.length; i++) {
-            totalSpace += ((additionalSpace[i] * 2) + 4); // magic numbers are for characters not accounted for in process body.
+    public void runParallel(ForkJoinPool pool) {
+        this.pool = pool;
+        try {
+            run();
+        } finally {
+            this.pool = null;
         }
-        return totalSpace;
     }
 
     /**
-     * @return Amount of Time/Spaces the CPU has to wait in total.
+     * FCFS runs every process in one piece, so the segments are derived from the table when first needed.
      */
-    private int calcCPUWaitTime() {
-        Process previous = null;
-        int cpuWait = 0;
-
-        for (Process current : processes) {
-
-            if (previous != null) {
-                if (current.getArrivalTime() > previous.getCompletedTime()) {
-                    cpuWait += current.getArrivalTime() - previous.getCompletedTime();
+    @Override
+    public GanttSegments getSegments() {
+        if (segments == null) {
+            segments = new GanttSegments(table.size());
+            for (int i = 0; i < table.size(); i++) {
+                if (table.hasCores()) {
+                    int start = table.getCompletedTime(i) - table.getBurstTime(i);
+                    segments.add(table.getProcessId(i), start, table.getCompletedTime(i), table.getCore(i));
+                } else {
+                    segments.add(table.getProcessId(i), calcProcessStart(i - 1, i), table.getCompletedTime(i));
                 }
             }
-
-            previous = current;
         }
-        return cpuWait;
+        return segments;
     }
 
 
@@ -221,25 +135,32 @@ public class FCFS {
      * Calculates the starting time of a process which will differ depending on arrival time
      * and previously completed Processes.
      *
-     * @param first  Process for comparison.
-     * @param second Process for comparison.
+     * @param first  Row of the previous process, negative if there is none.
+     * @param second Row of the process to calculate the start for.
      *               <p>
      *               AT <= PREVIOUS COMPLETED -> START = Previous completed.
      *               AT > PREVIOUS COMPLETED -> START = AT
      * @return
      */
-    private int calcProcessStart(Process first, Process second) {
-        if (first == null && second.getArrivalTime() > 0) {
-            return second.getArrivalTime();
+    private int calcProcessStart(int first, int second) {
+        if (first < 0 && table.getArrivalTime(second) > 0) {
+            return table.getArrivalTime(second);
         }
-        if (first == null) return 0;
+        if (first < 0) return 0;
 
-        if (second.getArrivalTime() <= first.getCompletedTime()) {
-            return first.getCompletedTime();
-        } else if (second.getArrivalTime() > first.getCompletedTime()) {
-            return second.getArrivalTime();
+        if (table.getArrivalTime(second) <= table.getCompletedTime(first)) {
+            return table.getCompletedTime(first);
+        } else if (table.getArrivalTime(second) > table.getCompletedTime(first)) {
+            return table.getArrivalTime(second);
         }
 
         return 0;
     }
+
+    private static int checkCpus(int cpus) {
+        if (cpus <= 0) {
+            throw new IllegalArgumentException("FCFS needs at least one CPU: " + cpus);
+        }
+        return cpus;
+    }
 }
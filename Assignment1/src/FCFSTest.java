@@ -8,7 +8,17 @@
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 
 public class FCFSTest {
@@ -177,4 +187,406 @@ public class FCFSTest {
 		}
 	}
 
+	@org.junit.Test
+	public void test7() {
+		ProcessTable table = new ProcessTable();
+
+		//Same trace as test3, scheduled directly on the primitive table
+		table.add(1, 0, 4);
+		table.add(2, 2, 3);
+		table.add(3, 1, 1);
+		table.add(4, 3, 2);
+		table.add(5, 4, 5);
+
+		int[] processIds = new int[]{1, 3, 2, 4, 5};
+		int[] processCT  = new int[]{4, 5, 8, 10, 15};
+		int[] processTAT = new int[]{4, 4, 6, 7, 11};
+		int[] processWT  = new int[]{0, 3, 3, 5, 6};
+
+
+		FCFS myFcfs = new FCFS(table);
+		myFcfs.run();
+
+		for (int i = 0; i < table.size(); i++) {
+			Process p = table.get(i);
+			assertEquals(processIds[i], p.getProcessId());
+			assertEquals(processCT[i], p.getCompletedTime());
+			assertEquals(processTAT[i], p.getTurnaroundTime());
+			assertEquals(processWT[i], p.getWaitingTime());
+		}
+	}
+
+	@org.junit.Test
+	public void test8() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+
+		//Idle CPU first, then a process arriving while the second one still runs
+		listOfProcesses.add(new Process(1, 0, 1));
+		listOfProcesses.add(new Process(2, 2, 5));
+		listOfProcesses.add(new Process(3, 3, 1));
+
+
+		int[] processIds = new int[]{1, 2, 3};
+		int[] processCT  = new int[]{1, 7, 8};
+		int[] processTAT = new int[]{1, 5, 5};
+		int[] processWT  = new int[]{0, 0, 4};
+
+
+		FCFS myFcfs = new FCFS(listOfProcesses);
+		myFcfs.run();
+
+		for (int i = 0; i < listOfProcesses.size(); i++) {
+			assertEquals(processIds[i], listOfProcesses.get(i).getProcessId());
+			assertEquals(processCT[i], listOfProcesses.get(i).getCompletedTime());
+			assertEquals(processTAT[i], listOfProcesses.get(i).getTurnaroundTime());
+			assertEquals(processWT[i], listOfProcesses.get(i).getWaitingTime());
+		}
+	}
+
+	@org.junit.Test
+	public void test9() throws IOException {
+		ProcessTable table = new ProcessTable();
+
+		table.add(1, 0, 18);
+		table.add(2, 3, 2);
+		table.add(3, 25, 5);
+		table.add(4, 29, 2);
+		table.add(5, 33, 7);
+
+		Path trace = Files.createTempFile("fcfs", ".trace");
+		Path results = Files.createTempFile("fcfs", ".results");
+		try {
+			TraceFile.write(table, trace);
+
+			//A two record window makes the stream cross window boundaries
+			StreamingFCFS stream = new StreamingFCFS(2);
+			assertEquals(5, stream.run(trace, results));
+
+			new FCFS(table).run();
+			ProcessTable streamed = TraceFile.readResults(results);
+
+			assertEquals(table.size(), streamed.size());
+			for (int i = 0; i < table.size(); i++) {
+				assertEquals(table.getProcessId(i), streamed.getProcessId(i));
+				assertEquals(table.getCompletedTime(i), streamed.getCompletedTime(i));
+				assertEquals(table.getTurnaroundTime(i), streamed.getTurnaroundTime(i));
+				assertEquals(table.getWaitingTime(i), streamed.getWaitingTime(i));
+			}
+		} finally {
+			Files.delete(trace);
+			Files.delete(results);
+		}
+	}
+
+	@org.junit.Test
+	public void test10() {
+		ProcessTable serial = new ProcessTable();
+		ProcessTable parallel = new ProcessTable();
+
+		//Large random trace with busy periods and idle gaps, unsorted
+		Random random = new Random(1);
+		for (int i = 0; i < 300000; i++) {
+			int arrival = random.nextInt(15000000);
+			int burst = 1 + random.nextInt(99);
+			serial.add(i, arrival, burst);
+			parallel.add(i, arrival, burst);
+		}
+
+		new FCFS(serial).run();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new FCFS(parallel).runParallel(pool);
+		} finally {
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < serial.size(); i++) {
+			assertEquals(serial.getProcessId(i), parallel.getProcessId(i));
+			assertEquals(serial.getCompletedTime(i), parallel.getCompletedTime(i));
+			assertEquals(serial.getTurnaroundTime(i), parallel.getTurnaroundTime(i));
+			assertEquals(serial.getWaitingTime(i), parallel.getWaitingTime(i));
+		}
+	}
+
+	@org.junit.Test
+	public void test11() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+
+		//Two CPUs, each process runs on the CPU that is free first
+		listOfProcesses.add(new Process(1, 0, 5));
+		listOfProcesses.add(new Process(2, 0, 3));
+		listOfProcesses.add(new Process(3, 1, 2));
+		listOfProcesses.add(new Process(4, 4, 4));
+
+		int[] processIds   = new int[]{1, 2, 3, 4};
+		int[] processCores = new int[]{0, 1, 1, 0};
+		int[] processCT    = new int[]{5, 3, 5, 9};
+		int[] processTAT   = new int[]{5, 3, 4, 5};
+		int[] processWT    = new int[]{0, 0, 2, 1};
+
+
+		FCFS myFcfs = new FCFS(listOfProcesses, 2);
+		myFcfs.run();
+
+		for (int i = 0; i < listOfProcesses.size(); i++) {
+			assertEquals(processIds[i], listOfProcesses.get(i).getProcessId());
+			assertEquals(processCores[i], listOfProcesses.get(i).getCore());
+			assertEquals(processCT[i], listOfProcesses.get(i).getCompletedTime());
+			assertEquals(processTAT[i], listOfProcesses.get(i).getTurnaroundTime());
+			assertEquals(processWT[i], listOfProcesses.get(i).getWaitingTime());
+		}
+		assertEquals(2, myFcfs.getSegments().getCores());
+	}
+
+	@org.junit.Test
+	public void test12() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+		OnlineFCFS online = new OnlineFCFS();
+
+		//Mostly in-order submissions with some late ones, submitted one at a time and in batches
+		Random random = new Random(2);
+		int arrival = 0;
+		ArrayList<Process> batch = new ArrayList<Process>();
+		for (int i = 0; i < 2000; i++) {
+			arrival += random.nextInt(10);
+			int late = random.nextInt(10) == 0 ? random.nextInt(200) : 0;
+			Process p = new Process(i, Math.max(0, arrival - late), 1 + random.nextInt(9));
+			listOfProcesses.add(new Process(p.getProcessId(), p.getArrivalTime(), p.getBurstTime()));
+
+			if (i % 100 < 50) {
+				online.submit(p);
+			} else {
+				batch.add(p);
+				if (batch.size() == 10) {
+					online.submit(batch);
+					batch.clear();
+				}
+			}
+		}
+
+		FCFS myFcfs = new FCFS(listOfProcesses);
+		myFcfs.run();
+
+		ProcessTable table = online.getTable();
+		long totalWaiting = 0;
+		for (int i = 0; i < listOfProcesses.size(); i++) {
+			assertEquals(listOfProcesses.get(i).getProcessId(), table.getProcessId(i));
+			assertEquals(listOfProcesses.get(i).getCompletedTime(), table.getCompletedTime(i));
+			assertEquals(listOfProcesses.get(i).getTurnaroundTime(), table.getTurnaroundTime(i));
+			assertEquals(listOfProcesses.get(i).getWaitingTime(), table.getWaitingTime(i));
+			totalWaiting += listOfProcesses.get(i).getWaitingTime();
+		}
+		assertEquals(totalWaiting, online.getTotalWaitingTime());
+	}
+
+	@org.junit.Test
+	public void test13() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+
+		listOfProcesses.add(new Process(1, 0, 18));
+		listOfProcesses.add(new Process(2, 3, 2));
+		listOfProcesses.add(new Process(3, 25, 5));
+		listOfProcesses.add(new Process(4, 29, 2));
+		listOfProcesses.add(new Process(5, 33, 7));
+
+		FCFS myFcfs = new FCFS(listOfProcesses);
+		myFcfs.setStatistics(new ScheduleStatistics());
+		myFcfs.run();
+
+		ScheduleStatistics statistics = myFcfs.getStatistics();
+		assertEquals(5, statistics.getCount());
+		assertEquals(3.2, statistics.getWaitingTime().getMean(), 1e-9);
+		assertEquals(0, statistics.getWaitingTime().getPercentile(50));
+		assertEquals(15, statistics.getWaitingTime().getPercentile(99));
+		assertEquals(18, statistics.getTurnaroundTime().getMax());
+		assertEquals(6, statistics.getIdleTime()); // the *'s of the Gantt chart
+		assertEquals(34.0 / 40.0, statistics.getUtilisation(), 1e-9);
+	}
+
+	@org.junit.Test
+	public void test14() {
+		ProcessTable serial = new ProcessTable();
+		ProcessTable parallel = new ProcessTable();
+
+		Random random = new Random(3);
+		int arrival = 0;
+		for (int i = 0; i < 200000; i++) {
+			arrival += random.nextInt(100);
+			int burst = 1 + random.nextInt(99);
+			serial.add(i, arrival, burst);
+			parallel.add(i, arrival, burst);
+		}
+
+		FCFS serialFcfs = new FCFS(serial);
+		serialFcfs.setStatistics(new ScheduleStatistics());
+		serialFcfs.run();
+
+		FCFS parallelFcfs = new FCFS(parallel);
+		parallelFcfs.setStatistics(new ScheduleStatistics());
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			parallelFcfs.runParallel(pool);
+		} finally {
+			pool.shutdown();
+		}
+
+		ScheduleStatistics expected = serialFcfs.getStatistics();
+		ScheduleStatistics merged = parallelFcfs.getStatistics();
+		assertEquals(expected.getCount(), merged.getCount());
+		assertEquals(expected.getIdleTime(), merged.getIdleTime());
+		assertEquals(expected.getWaitingTime().getSum(), merged.getWaitingTime().getSum());
+		assertEquals(expected.getWaitingTime().getPercentile(99.9), merged.getWaitingTime().getPercentile(99.9));
+		assertEquals(expected.getTurnaroundTime().getPercentile(50), merged.getTurnaroundTime().getPercentile(50));
+
+		//percentiles are within 1% of the exact value
+		int[] sorted = Arrays.copyOf(serial.waitingTime, serial.size());
+		Arrays.sort(sorted);
+		long exact = sorted[(int) Math.ceil(0.99 * sorted.length) - 1];
+		assertEquals(exact, expected.getWaitingTime().getPercentile(99), exact * 0.01);
+	}
+
+	@org.junit.Test
+	public void test15() throws IOException {
+		ProcessTable table = new ProcessTable();
+
+		table.add(1, 0, 18);
+		table.add(2, 3, 2);
+		table.add(3, 25, 5);
+		table.add(4, 29, 2);
+		table.add(5, 33, 7);
+
+		FCFS fcfs = new FCFS(table);
+		try {
+			ScheduleExport.write(fcfs, Paths.get("not-written.schedule"));
+			fail("A scheduler that has not run should not be exported");
+		} catch (IllegalStateException expected) {
+		}
+		fcfs.run();
+		GanttSegments segments = fcfs.getSegments();
+
+		Path binary = Files.createTempFile("fcfs", ".schedule");
+		Path csv = Files.createTempFile("fcfs", ".csv");
+		Path segmentsCsv = Files.createTempFile("fcfs", ".segments.csv");
+		try {
+			ScheduleExport.write(fcfs, binary);
+			ScheduleExport.writeCsv(table, csv);
+			ScheduleExport.writeSegmentsCsv(segments, segmentsCsv);
+
+			ScheduleExport.Columns columns = ScheduleExport.map(binary);
+			assertEquals(table.size(), columns.size());
+			assertEquals(segments.size(), columns.getSegmentCount());
+			IntBuffer completed = columns.getCompletedTimes();
+			IntBuffer turnaround = columns.getTurnaroundTimes();
+			IntBuffer waiting = columns.getWaitingTimes();
+			for (int i = 0; i < table.size(); i++) {
+				assertEquals(table.getProcessId(i), columns.getProcessIds().get(i));
+				assertEquals(table.getCompletedTime(i), completed.get(i));
+				assertEquals(table.getTurnaroundTime(i), turnaround.get(i));
+				assertEquals(table.getWaitingTime(i), waiting.get(i));
+			}
+			for (int i = 0; i < segments.size(); i++) {
+				assertEquals(segments.getStart(i), columns.getSegmentStarts().get(i));
+				assertEquals(segments.getEnd(i), columns.getSegmentEnds().get(i));
+			}
+
+			List<String> lines = Files.readAllLines(csv, StandardCharsets.US_ASCII);
+			assertEquals("pid,arrival,burst,completed,turnaround,waiting", lines.get(0));
+			assertEquals("2,3,2,20,17,15", lines.get(2));
+			assertEquals(table.size() + 1, lines.size());
+			List<String> gantt = Files.readAllLines(segmentsCsv, StandardCharsets.US_ASCII);
+			assertEquals("3,25,30,0", gantt.get(3));
+		} finally {
+			Files.delete(binary);
+			Files.delete(csv);
+			Files.delete(segmentsCsv);
+		}
+	}
+
+	@org.junit.Test
+	public void test16() throws IOException {
+		int jobs = 3 * WorkloadGenerator.CHUNK_JOBS + 1000;
+		WorkloadGenerator[] generators = {
+				new WorkloadGenerator(42).setPoisson(4).setExponentialBursts(3),
+				new WorkloadGenerator(42).setBursty(8, 10, 2000, 200).setParetoBursts(3, 1.5),
+				new WorkloadGenerator(42).setDiurnal(4, 100000, 0.9).setBimodalBursts(1, 20, 0.1)
+		};
+
+		ForkJoinPool single = new ForkJoinPool(1);
+		Path trace = Files.createTempFile("workload", ".trace");
+		try {
+			for (WorkloadGenerator generator : generators) {
+				ProcessTable table = generator.generate(jobs);
+
+				//The trace depends on the seed only, not on the pool generating it
+				ProcessTable serial = generator.generate(jobs, single);
+				assertArrayEquals(Arrays.copyOf(table.arrivalTime, jobs), Arrays.copyOf(serial.arrivalTime, jobs));
+				assertArrayEquals(Arrays.copyOf(table.burstTime, jobs), Arrays.copyOf(serial.burstTime, jobs));
+
+				assertEquals(jobs, table.size());
+				assertTrue(table.isSortedByArrival());
+				assertEquals(1, table.getProcessId(0));
+				assertEquals(jobs, table.getProcessId(jobs - 1));
+				if (generator.getArrivals() != WorkloadGenerator.Arrivals.BURSTY) {
+					assertEquals(4.0, (double) table.getArrivalTime(jobs - 1) / jobs, 0.1);
+				}
+
+				generator.write(jobs, trace);
+				ProcessTable written = TraceFile.read(trace);
+				assertArrayEquals(Arrays.copyOf(table.arrivalTime, jobs), Arrays.copyOf(written.arrivalTime, jobs));
+				assertArrayEquals(Arrays.copyOf(table.burstTime, jobs), Arrays.copyOf(written.burstTime, jobs));
+
+				new FCFS(table).run();
+				assertTrue(table.getCompletedTime(jobs - 1) >= table.getArrivalTime(jobs - 1) + table.getBurstTime(jobs - 1));
+			}
+		} finally {
+			single.shutdown();
+			Files.delete(trace);
+		}
+	}
+
+	@org.junit.Test
+	public void test17() {
+		ProcessTable table = new ProcessTable();
+		table.add(1, 0, 18);
+		table.add(2, 3, 2);
+		assertFalse(table.hasCores());
+
+		//Setting a core through a row creates the optional core column
+		table.get(1).setCore(3);
+		assertTrue(table.hasCores());
+		assertEquals(0, table.getCore(0));
+		assertEquals(3, table.getCore(1));
+	}
+
+	@org.junit.Test(timeout = 10000)
+	public void test18() {
+		//Every process late: submitted from the last arrival to the first, with idle gaps that later processes fill
+		int n = 200000;
+		OnlineFCFS online = new OnlineFCFS();
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+		for (int i = n - 1; i >= 0; i--) {
+			int arrival = 10 * i + (i % 7 == 0 ? 5 : 0);
+			int burst = 1 + i % 13;
+			assertEquals(0, online.submit(i, arrival, burst));
+			listOfProcesses.add(new Process(i, arrival, burst));
+		}
+
+		FCFS myFcfs = new FCFS(listOfProcesses);
+		myFcfs.run();
+
+		ProcessTable table = online.getTable();
+		long totalTurnaround = 0;
+		long totalWaiting = 0;
+		for (int i = 0; i < n; i++) {
+			Process p = listOfProcesses.get(i);
+			assertEquals(p.getProcessId(), table.getProcessId(i));
+			assertEquals(p.getCompletedTime(), table.getCompletedTime(i));
+			totalTurnaround += p.getTurnaroundTime();
+			totalWaiting += p.getWaitingTime();
+		}
+		assertEquals(totalTurnaround, online.getTotalTurnaroundTime());
+		assertEquals(totalWaiting, online.getTotalWaitingTime());
+		assertEquals(listOfProcesses.get(n - 1).getCompletedTime(), online.getLastCompletedTime());
+	}
+
 }
@@ -0,0 +1,230 @@
+/*
+ * File:	GanttRenderer.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Renders the process table and the Gantt chart of a schedule to a Writer.
+ * <p>
+ * Runs of the same symbol are written as blocks from a pre-filled char array instead of one call per
+ * character, so the output can go to the console, a file or a channel at buffer speed. With a maximum run
+ * width set, long burst and idle runs are drawn at most that wide, which keeps the chart size proportional
+ * to the number of segments instead of the length of the time line. The printed times stay exact.
+ * <p>
+ * A schedule on more than one CPU gets a CPU column in the table and one chart lane per core.
+ */
+public class GanttRenderer {
+
+    private static final int BLOCK_SIZE = 4096;
+
+    // Blocks of repeated characters, filled when a symbol is first used
+    private final char[][] blocks = new char[128][];
+
+    private final ProcessTable table;
+    private final GanttSegments segments;
+    private final String newLine = System.lineSeparator();
+
+    private int maxRunWidth = Integer.MAX_VALUE;
+
+    public GanttRenderer(ProcessTable table, GanttSegments segments) {
+        this.table = table;
+        this.segments = segments;
+    }
+
+    /**
+     * Collapses every burst and idle run wider than the given width to that width.
+     * @param maxRunWidth Widest run drawn, Integer.MAX_VALUE to draw the time line to scale.
+     * @return This renderer.
+     */
+    public GanttRenderer setMaxRunWidth(int maxRunWidth) {
+        if (maxRunWidth < 0) {
+            throw new IllegalArgumentException("Run width must not be negative: " + maxRunWidth);
+        }
+        this.maxRunWidth = maxRunWidth;
+        return this;
+    }
+
+    public void writeTable(Writer out) throws IOException {
+        out.write("------------------------------------");
+        out.write(newLine);
+        out.write(table.hasCores() ? "PID\tCPU\tAT\tBT\tCT\tTAT\tWT" : "PID\tAT\tBT\tCT\tTAT\tWT");
+        out.write(newLine);
+        for (int i = 0; i < table.size(); i++) {
+            writeInt(out, table.getProcessId(i), '\t');
+            if (table.hasCores()) {
+                writeInt(out, table.getCore(i), '\t');
+            }
+            writeInt(out, table.getArrivalTime(i), '\t');
+            writeInt(out, table.getBurstTime(i), '\t');
+            writeInt(out, table.getCompletedTime(i), '\t');
+            writeInt(out, table.getTurnaroundTime(i), '\t');
+            out.write(Integer.toString(table.getWaitingTime(i)));
+            out.write(newLine);
+        }
+        out.write("------------------------------------");
+        out.write(newLine);
+    }
+
+    public void writeGanttChart(Writer out) throws IOException {
+        if (segments.getCores() == 1) {
+            writeLane(out, segments);
+            return;
+        }
+
+        for (int core = 0; core < segments.getCores(); core++) {
+            out.write("CPU ");
+            out.write(Integer.toString(core));
+            out.write(newLine);
+            writeLane(out, segments.lane(core));
+        }
+    }
+
+    /**
+     * Writes the chart of segments that ran on one core.
+     */
+    private void writeLane(Writer out, GanttSegments segments) throws IOException {
+
+        int[] space = calcProcessSpace(segments);
+        int[] wait = calcWaitSpace(segments);
+        long totalSpace = calcTotalSpace(space, wait);
+
+        repeat(out, '=', totalSpace); // TOP BORDER
+        out.write(newLine);
+
+        for (int i = 0; i < segments.size(); i++) {
+            repeat(out, '*', wait[i]);
+            out.write('|');
+            repeat(out, ' ', space[i]); // SPACE BETWEEN PROCESS ID
+            out.write('P');
+            out.write(Integer.toString(segments.getProcessId(i)));
+            repeat(out, ' ', space[i]); // SPACE BETWEEN PROCESS ID
+            out.write('|');
+        }
+        out.write(newLine);
+
+        repeat(out, '=', totalSpace); // BOTTOM BORDER
+        out.write(newLine);
+
+        // TIME BLOCK
+        int previousEnd = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            repeat(out, ' ', wait[i]);
+            int start = segments.getStart(i);
+            int end = segments.getEnd(i);
+
+            if (previousEnd != start || previousEnd == 0) {
+                out.write(Integer.toString(start));
+            }
+            repeat(out, ' ', (space[i] * 2L) + 1);
+            out.write(Integer.toString(end));
+
+            previousEnd = end;
+        }
+
+        out.write('\n');
+        out.write(newLine);
+    }
+
+    /**
+     * @return Table followed by the chart, rendered into one buffer.
+     */
+    public String render() throws IOException {
+        StringWriter out = new StringWriter(estimateLength());
+        writeTable(out);
+        writeGanttChart(out);
+        return out.toString();
+    }
+
+    /**
+     * Writes the table and the chart to a file.
+     */
+    public void writeTo(Path path) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeTable(out);
+            writeGanttChart(out);
+        }
+    }
+
+    /**
+     * Writes the table and the chart to a channel, which is left open.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BLOCK_SIZE * 16));
+        writeTable(out);
+        writeGanttChart(out);
+        out.flush();
+    }
+
+    private void writeInt(Writer out, int value, char separator) throws IOException {
+        out.write(Integer.toString(value));
+        out.write(separator);
+    }
+
+    /**
+     * Writes symbol x, y times in blocks.
+     */
+    private void repeat(Writer out, char symbol, long amount) throws IOException {
+        char[] block = blocks[symbol];
+        if (block == null) {
+            block = new char[BLOCK_SIZE];
+            Arrays.fill(block, symbol);
+            blocks[symbol] = block;
+        }
+        while (amount > 0) {
+            int length = (int) Math.min(amount, BLOCK_SIZE);
+            out.write(block, 0, length);
+            amount -= length;
+        }
+    }
+
+    /**
+     * @return Space on each side of the process id, the time since the previous segment ended.
+     */
+    private int[] calcProcessSpace(GanttSegments segments) {
+        int[] space = new int[segments.size()];
+        int previousEnd = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            space[i] = Math.min(segments.getEnd(i) - previousEnd, maxRunWidth);
+            previousEnd = segments.getEnd(i);
+        }
+        return space;
+    }
+
+    /**
+     * @return Idle time of the CPU before each segment, none before the first.
+     */
+    private int[] calcWaitSpace(GanttSegments segments) {
+        int[] wait = new int[segments.size()];
+        for (int i = 1; i < segments.size(); i++) {
+            wait[i] = Math.min(segments.getStart(i) - segments.getEnd(i - 1), maxRunWidth);
+        }
+        return wait;
+    }
+
+    private long calcTotalSpace(int[] space, int[] wait) {
+        long totalSpace = 0;
+        for (int i = 0; i < space.length; i++) {
+            totalSpace += wait[i] + (space[i] * 2L) + 4; // magic numbers are for characters not accounted for in process body.
+        }
+        return totalSpace;
+    }
+
+    private int estimateLength() {
+        long chart = 4L * calcTotalSpace(calcProcessSpace(segments), calcWaitSpace(segments));
+        long rows = 40L * table.size();
+        return (int) Math.min(Integer.MAX_VALUE - 8, chart + rows + 128);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * File:	GanttSegments.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.Arrays;
+
+/**
+ * Time line of a schedule as (pid, start, end, core) segments in the order they were scheduled.
+ * <p>
+ * Non-preemptive schedulers produce one segment per process, preemptive ones a segment per time slice.
+ * On a single CPU every segment runs on core 0.
+ */
+public class GanttSegments {
+
+    private int size;
+    private int[] processId;
+    private int[] start;
+    private int[] end;
+    private int[] core;
+    private int cores = 1;
+
+    public GanttSegments(int capacity) {
+        capacity = Math.max(capacity, 1);
+        processId = new int[capacity];
+        start = new int[capacity];
+        end = new int[capacity];
+        core = new int[capacity];
+    }
+
+    /**
+     * Appends a segment, or extends the last one if the same process keeps running without a gap.
+     */
+    public void add(int processId, int start, int end) {
+        add(processId, start, end, 0);
+    }
+
+    /**
+     * Appends a segment run on the given core, or extends the last one if the same process keeps running
+     * on the same core without a gap.
+     */
+    public void add(int processId, int start, int end, int core) {
+        if (size > 0 && this.processId[size - 1] == processId && this.end[size - 1] == start
+                && this.core[size - 1] == core) {
+            this.end[size - 1] = end;
+            return;
+        }
+
+        if (size == this.processId.length) {
+            int capacity = size * 2;
+            this.processId = Arrays.copyOf(this.processId, capacity);
+            this.start = Arrays.copyOf(this.start, capacity);
+            this.end = Arrays.copyOf(this.end, capacity);
+            this.core = Arrays.copyOf(this.core, capacity);
+        }
+
+        this.processId[size] = processId;
+        this.start[size] = start;
+        this.end[size] = end;
+        this.core[size] = core;
+        cores = Math.max(cores, core + 1);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getProcessId(int segment) {
+        return processId[segment];
+    }
+
+    public int getStart(int segment) {
+        return start[segment];
+    }
+
+    public int getEnd(int segment) {
+        return end[segment];
+    }
+
+    public int getCore(int segment) {
+        return core[segment];
+    }
+
+    /**
+     * @return Number of cores the segments ran on, at least 1.
+     */
+    public int getCores() {
+        return cores;
+    }
+
+    /**
+     * @return Segments run on one core, in the same order.
+     */
+    public GanttSegments lane(int core) {
+        GanttSegments lane = new GanttSegments(size / cores + 1);
+        for (int i = 0; i < size; i++) {
+            if (this.core[i] == core) {
+                lane.add(processId[i], start[i], end[i], core);
+            }
+        }
+        return lane;
+    }
+}
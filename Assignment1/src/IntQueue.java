@@ -0,0 +1,52 @@
+/*
+ * File:	IntQueue.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+/**
+ * FIFO ring buffer of primitive ints, used as ready queue by the time slicing schedulers.
+ */
+public class IntQueue {
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntQueue(int capacity) {
+        elements = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) % elements.length] = value;
+        size++;
+    }
+
+    public int poll() {
+        int value = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] grown = new int[elements.length * 2];
+        for (int i = 0; i < size; i++) {
+            grown[i] = elements[(head + i) % elements.length];
+        }
+        elements = grown;
+        head = 0;
+    }
+}
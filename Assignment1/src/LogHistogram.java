@@ -0,0 +1,111 @@
+/*
+ * File:	LogHistogram.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+/**
+ * Fixed-memory histogram of non-negative long values with log-linear buckets, in the style of HdrHistogram.
+ * <p>
+ * Values below 2^SUB_BITS are counted exactly. Above that every power of two is split into 2^SUB_BITS
+ * buckets, so a value is reported within 1 / 2^SUB_BITS (below 1%) of what was recorded, whatever its size.
+ * The whole range of long fits in 7296 counters, and histograms merge by adding counters.
+ */
+public class LogHistogram {
+
+    private static final int SUB_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * @param value Value to record, negative values are counted as 0.
+     */
+    public void record(long value) {
+        value = Math.max(value, 0);
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values recorded by another histogram to this one.
+     */
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100, for example 99.9.
+     * @return Highest value in the bucket holding the percentile, bounded by the recorded min and max.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highestValue(i)));
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BITS;
+        int mantissa = (int) (value >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return ((shift + 1) << SUB_BITS) + mantissa - SUB_BUCKETS;
+    }
+
+    static long highestValue(int index) {
+        int shift = (index >>> SUB_BITS) - 1;
+        if (shift < 0) {
+            return index;
+        }
+        long mantissa = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * File:	LongMinHeap.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive longs.
+ * <p>
+ * The schedulers pack a sort key into the high 32 bits and a table row into the low 32 bits (see key()),
+ * so ties on the key are broken by row, which is the arrival order.
+ */
+public class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * @param key Sort key, compared as a signed int.
+     * @param row Row in the process table, must not be negative.
+     * @return Key and row packed into one long.
+     */
+    public static long key(int key, int row) {
+        return ((long) key << 32) | row;
+    }
+
+    /**
+     * @return Row packed into the low 32 bits of a heap entry.
+     */
+    public static int row(long entry) {
+        return (int) entry;
+    }
+
+    public void push(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public long peek() {
+        return heap[0];
+    }
+
+    public long pop() {
+        long min = heap[0];
+        long last = heap[--size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+
+        return min;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * File:	MLFQ.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.ArrayList;
+
+/**
+ * Multi-level feedback queue.
+ * <p>
+ * New processes enter level 0. Level l is Round-Robin with a quantum of baseQuantum * 2^l, and a process
+ * that uses its whole quantum moves down one level (the last level keeps it). A lower level only runs when
+ * all levels above it are empty, and is preempted by a new arrival, which returns it to the tail of its level.
+ */
+public class MLFQ extends Scheduler {
+
+    private final int levels;
+    private final int baseQuantum;
+
+    public MLFQ(ArrayList<Process> processes, int levels, int baseQuantum) {
+        super(processes);
+        this.levels = checkLevels(levels);
+        this.baseQuantum = RoundRobin.checkQuantum(baseQuantum);
+    }
+
+    public MLFQ(ProcessTable table, int levels, int baseQuantum) {
+        super(table);
+        this.levels = checkLevels(levels);
+        this.baseQuantum = RoundRobin.checkQuantum(baseQuantum);
+    }
+
+    @Override
+    protected void schedule() {
+        segments = new GanttSegments(table.size());
+
+        int[] remaining = new int[table.size];
+        System.arraycopy(table.burstTime, 0, remaining, 0, table.size);
+
+        IntQueue[] ready = new IntQueue[levels];
+        for (int level = 0; level < levels; level++) {
+            ready[level] = new IntQueue(64);
+        }
+
+        int next = 0;
+        int time = 0;
+        int waiting = 0;
+
+        while (next < table.size || waiting > 0) {
+            if (waiting == 0 && time < table.arrivalTime[next]) {
+                time = table.arrivalTime[next]; // CPU idle until the next arrival.
+            }
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready[0].add(next++);
+                waiting++;
+            }
+
+            int level = 0;
+            while (ready[level].isEmpty()) {
+                level++;
+            }
+            int row = ready[level].poll();
+            waiting--;
+
+            int quantum = quantum(level);
+            int end = time + Math.min(quantum, remaining[row]);
+            if (level > 0 && next < table.size && table.arrivalTime[next] < end) {
+                end = table.arrivalTime[next]; // Preempted by a new arrival on level 0.
+            }
+
+            segments.add(table.processId[row], time, end);
+            int ran = end - time;
+            remaining[row] -= ran;
+            time = end;
+
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready[0].add(next++);
+                waiting++;
+            }
+
+            if (remaining[row] == 0) {
+                complete(row, time);
+            } else {
+                ready[ran == quantum ? Math.min(level + 1, levels - 1) : level].add(row);
+                waiting++;
+            }
+        }
+    }
+
+    /**
+     * @return Quantum of a level, baseQuantum * 2^level capped at Integer.MAX_VALUE.
+     */
+    private int quantum(int level) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) baseQuantum << Math.min(level, 31));
+    }
+
+    private static int checkLevels(int levels) {
+        if (levels <= 0) {
+            throw new IllegalArgumentException("MLFQ needs at least one level: " + levels);
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * File:	MaxPlusScan.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel FCFS on a table sorted by arrival time.
+ * <p>
+ * The completion time of FCFS is C(i) = max(C(i-1), A(i)) + B(i). Each process is the function
+ * x -> max(x + B, A + B) of the previous completion time, and functions of the form x -> max(x + p, q)
+ * compose into the same form:
+ * 	(p1, q1) then (p2, q2) = (p1 + p2, max(q1 + p2, q2))
+ * <p>
+ * The table is split into chunks. Each chunk is reduced to one (p, q) pair in parallel, the pairs are
+ * applied in order to get the completion time entering each chunk, and then every chunk is scheduled in
+ * parallel from its entering completion time with the same loop as the serial FCFS. Each chunk records
+ * into its own statistics shard, and the shards are merged at the end.
+ */
+class MaxPlusScan {
+
+    // Rows per chunk below which splitting further costs more than it saves
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private MaxPlusScan() {
+    }
+
+    /**
+     * @param statistics Statistics to record into, null to record nothing.
+     */
+    static void schedule(ProcessTable table, ForkJoinPool pool, ScheduleStatistics statistics) {
+        int n = table.size();
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, n / MIN_CHUNK));
+
+        int[] from = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            from[c] = (int) ((long) n * c / chunks);
+        }
+
+        // Phase 1: reduce every chunk to x -> max(x + p, q).
+        long[] p = new long[chunks];
+        long[] q = new long[chunks];
+        pool.invoke(new ChunkTask(0, chunks, c -> {
+            long chunkP = 0;
+            long chunkQ = Long.MIN_VALUE;
+            for (int i = from[c]; i < from[c + 1]; i++) {
+                long burst = table.burstTime[i];
+                chunkP += burst;
+                chunkQ = Math.max(chunkQ + burst, table.arrivalTime[i] + burst);
+            }
+            p[c] = chunkP;
+            q[c] = chunkQ;
+        }));
+
+        // Phase 2: completion time of the process before each chunk, the first starts with an idle CPU.
+        int[] previousCompleted = new int[chunks];
+        long completed = 0;
+        for (int c = 0; c < chunks; c++) {
+            previousCompleted[c] = (int) completed;
+            completed = Math.max(completed + p[c], q[c]);
+        }
+
+        // Phase 3: schedule every chunk from its entering completion time.
+        ScheduleStatistics[] shards = new ScheduleStatistics[chunks];
+        pool.invoke(new ChunkTask(0, chunks, c -> {
+            shards[c] = statistics == null ? null : statistics.newShard();
+            scheduleChunk(table, from[c], from[c + 1], previousCompleted[c], shards[c]);
+        }));
+
+        if (statistics != null) {
+            for (ScheduleStatistics shard : shards) {
+                statistics.merge(shard);
+            }
+        }
+    }
+
+    /**
+     * Serial FCFS of the rows [from, to).
+     * @param previousCompleted Completion time of the process before the first row.
+     * @param statistics Statistics to record into, null to record nothing.
+     */
+    static void scheduleChunk(ProcessTable table, int from, int to, int previousCompleted,
+                              ScheduleStatistics statistics) {
+        int[] arrival = table.arrivalTime;
+        int[] burst = table.burstTime;
+        int[] completed = table.completedTime;
+        int[] turnaround = table.turnaroundTime;
+        int[] waiting = table.waitingTime;
+
+        for (int i = from; i < to; i++) {
+            int start = Math.max(arrival[i], previousCompleted);
+
+            completed[i] = start + burst[i];
+            turnaround[i] = completed[i] - arrival[i];
+            waiting[i] = turnaround[i] - burst[i];
+
+            if (statistics != null) {
+                statistics.record(arrival[i], burst[i], completed[i]);
+            }
+
+            previousCompleted = completed[i];
+        }
+    }
+
+    interface Chunk {
+        void run(int chunk);
+    }
+
+    /**
+     * Runs a range of chunks, forking halves until one chunk is left. Also used by WorkloadGenerator.
+     */
+    static class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final Chunk chunk;
+
+        ChunkTask(int from, int to, Chunk chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunk.run(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, middle, chunk), new ChunkTask(middle, to, chunk));
+        }
+    }
+}
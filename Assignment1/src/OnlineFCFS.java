@@ -0,0 +1,486 @@
+/*
+ * File:	OnlineFCFS.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FCFS for processes submitted one at a time while the schedule is being read.
+ * <p>
+ * The schedule is kept as busy periods, runs of processes the CPU executes back to back, each recorded at
+ * its first process with its end and its number of processes. A process completes at the start of its
+ * period plus the burst times up to it in the period. The processes are kept in a treap ordered by arrival
+ * time, equal arrival times in submission order, where every node counts the processes, the busy periods
+ * and the burst time of its subtree.
+ * <p>
+ * A process arriving no earlier than the last one is appended to a tail outside the tree and to the last
+ * busy period in O(1) amortized. A late process first joins the tail to the tree, O(1) per tail process
+ * and O(log n) for the join, and is then inserted in O(log n) expected. It delays the processes after it in
+ * its period by its burst time, which the totals take in one step from their number, and merges the period
+ * with the following ones it now runs into, each merge in O(log n). A merge removes a period that an
+ * earlier submission created, so a late submission is O(log n) amortized in all.
+ * <p>
+ * Totals are updated with every change, so the averages can be read at any time without a pass over the table.
+ */
+public class OnlineFCFS {
+
+    private static final int NIL = -1;
+
+    // Submitted processes, row i is node i of the tree
+    private final ProcessTable submitted;
+
+    // Treap over the rows [0, treeSize), the rows after it are the tail and already in arrival order
+    private int root = NIL;
+    private int treeSize;
+    private int[] left;
+    private int[] right;
+
+    // Per subtree: number of processes, number of busy periods starting in it and total burst time
+    private int[] count;
+    private int[] periods;
+    private long[] burstSum;
+
+    // Per row starting a busy period: end of the period and number of processes in it, 0 for other rows
+    private int[] periodEnd;
+    private int[] periodCount;
+
+    // First row of the last busy period
+    private int lastPeriod = NIL;
+
+    private int minArrivalTime;
+    private int maxArrivalTime;
+
+    private long totalBurstTime;
+    private long totalArrivalTime;
+    private long totalCompletedTime;
+
+    // Schedule written out by getTable(), null after a submission
+    private ProcessTable table;
+
+    public OnlineFCFS() {
+        this(16);
+    }
+
+    public OnlineFCFS(int capacity) {
+        submitted = new ProcessTable(capacity);
+        capacity = Math.max(capacity, 1);
+        left = new int[capacity];
+        right = new int[capacity];
+        count = new int[capacity];
+        periods = new int[capacity];
+        burstSum = new long[capacity];
+        periodEnd = new int[capacity];
+        periodCount = new int[capacity];
+    }
+
+    /**
+     * Adds a process to the schedule.
+     * @return Row of the process in the table at the time of submission.
+     */
+    public int submit(int processId, int arrivalTime, int burstTime) {
+        int n = submitted.size();
+        int row = submitted.add(processId, arrivalTime, burstTime);
+        if (row == left.length) {
+            grow();
+        }
+        left[row] = NIL;
+        right[row] = NIL;
+        table = null;
+        totalBurstTime += burstTime;
+        totalArrivalTime += arrivalTime;
+
+        if (n == 0 || arrivalTime >= maxArrivalTime) {
+            if (n == 0) {
+                minArrivalTime = arrivalTime;
+            }
+            maxArrivalTime = arrivalTime;
+            if (lastPeriod != NIL && arrivalTime <= periodEnd[lastPeriod]) {
+                periodEnd[lastPeriod] += burstTime;
+                periodCount[lastPeriod]++;
+            } else {
+                startPeriod(row);
+                lastPeriod = row;
+            }
+            totalCompletedTime += periodEnd[lastPeriod];
+            return n;
+        }
+
+        // Late arrival: after all processes with the same or earlier arrival time, as a stable sort would.
+        root = merge(root, build(treeSize, row));
+        minArrivalTime = Math.min(minArrivalTime, arrivalTime);
+        int position = countUpTo(arrivalTime, true);
+
+        int period = lastPeriodUpTo(arrivalTime);
+        if (period != NIL && arrivalTime <= periodEnd[period]) {
+            int from = submitted.arrivalTime[period];
+            int before = position - countUpTo(from, false);
+            long burstBefore = burstUpTo(arrivalTime, true) - burstUpTo(from, false);
+            int completed = (int) (periodStart(period) + burstBefore) + burstTime;
+            totalCompletedTime += completed + (long) burstTime * (periodCount[period] - before);
+            periodEnd[period] += burstTime;
+            periodCount[period]++;
+        } else {
+            period = row;
+            startPeriod(row);
+            totalCompletedTime += periodEnd[row];
+        }
+        root = insert(root, row);
+        treeSize = row + 1;
+
+        // The period may now run into the following ones, whose processes are delayed until it ends.
+        int next = firstPeriodAfter(submitted.arrivalTime[period]);
+        while (next != NIL && periodStart(next) <= periodEnd[period]) {
+            totalCompletedTime += (long) periodCount[next] * (periodEnd[period] - periodStart(next));
+            periodEnd[period] += periodEnd[next] - periodStart(next);
+            periodCount[period] += periodCount[next];
+            endPeriod(next);
+            if (next == lastPeriod) {
+                lastPeriod = period;
+            }
+            next = firstPeriodAfter(submitted.arrivalTime[period]);
+        }
+        return position;
+    }
+
+    public int submit(Process process) {
+        return submit(process.getProcessId(), process.getArrivalTime(), process.getBurstTime());
+    }
+
+    /**
+     * Adds several processes at once, in order of arrival, so that the ones arriving after the current
+     * schedule are appended.
+     */
+    public void submit(List<Process> batch) {
+        ProcessTable sorted = ProcessTable.of(batch);
+        sorted.sortByArrival();
+        for (int i = 0; i < sorted.size(); i++) {
+            submit(sorted.processId[i], sorted.arrivalTime[i], sorted.burstTime[i]);
+        }
+    }
+
+    public int size() {
+        return submitted.size();
+    }
+
+    /**
+     * Writes the schedule out in O(n) if a process has been submitted since the last call.
+     * @return Schedule so far, sorted by arrival time. Rows move when late processes are submitted.
+     */
+    public ProcessTable getTable() {
+        if (table == null) {
+            table = new ProcessTable(size());
+            int[] stack = new int[treeSize];
+            int top = 0;
+            for (int t = root; t != NIL || top > 0; t = right[t]) {
+                for (; t != NIL; t = left[t]) {
+                    stack[top++] = t;
+                }
+                t = stack[--top];
+                addRow(t);
+            }
+            for (int row = treeSize; row < size(); row++) {
+                addRow(row);
+            }
+            MaxPlusScan.scheduleChunk(table, 0, table.size(), 0, null);
+        }
+        return table;
+    }
+
+    public long getTotalTurnaroundTime() {
+        return totalCompletedTime - totalArrivalTime;
+    }
+
+    public long getTotalWaitingTime() {
+        return totalCompletedTime - totalArrivalTime - totalBurstTime;
+    }
+
+    public double getAverageTurnaroundTime() {
+        return (double) getTotalTurnaroundTime() / size();
+    }
+
+    public double getAverageWaitingTime() {
+        return (double) getTotalWaitingTime() / size();
+    }
+
+    /**
+     * @return Completion time of the last process, 0 if none has been submitted.
+     */
+    public int getLastCompletedTime() {
+        return lastPeriod == NIL ? 0 : periodEnd[lastPeriod];
+    }
+
+    /**
+     * @return Time the CPU waits in between processes, as in the Gantt chart.
+     */
+    public long getIdleTime() {
+        if (size() == 0) {
+            return 0;
+        }
+        long firstStart = Math.max(minArrivalTime, 0);
+        return getLastCompletedTime() - firstStart - totalBurstTime;
+    }
+
+    private void addRow(int row) {
+        table.add(submitted.processId[row], submitted.arrivalTime[row], submitted.burstTime[row]);
+    }
+
+    /**
+     * Makes a row the first and only process of a new busy period.
+     */
+    private void startPeriod(int row) {
+        periodEnd[row] = periodStart(row) + submitted.burstTime[row];
+        periodCount[row] = 1;
+    }
+
+    /**
+     * @return Time the busy period starting at the row starts, the CPU being idle until time 0.
+     */
+    private int periodStart(int row) {
+        return Math.max(submitted.arrivalTime[row], 0);
+    }
+
+    /**
+     * Removes a busy period merged into the one before it, updating the period counts on its path.
+     */
+    private void endPeriod(int row) {
+        periodCount[row] = 0;
+        int arrivalTime = submitted.arrivalTime[row];
+        for (int t = root; ; t = arrivalTime <= submitted.arrivalTime[t] ? left[t] : right[t]) {
+            // A period starts at the first process with its arrival time, so it is left of equal ones.
+            periods[t]--;
+            if (t == row) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Number of processes in the tree arriving before the given time, or at it if inclusive.
+     */
+    private int countUpTo(int arrivalTime, boolean inclusive) {
+        int result = 0;
+        for (int t = root; t != NIL; ) {
+            if (isUpTo(t, arrivalTime, inclusive)) {
+                result += count(left[t]) + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Total burst time of the processes in the tree arriving before the given time, or at it if inclusive.
+     */
+    private long burstUpTo(int arrivalTime, boolean inclusive) {
+        long result = 0;
+        for (int t = root; t != NIL; ) {
+            if (isUpTo(t, arrivalTime, inclusive)) {
+                result += burstSum(left[t]) + submitted.burstTime[t];
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return result;
+    }
+
+    private boolean isUpTo(int row, int arrivalTime, boolean inclusive) {
+        return submitted.arrivalTime[row] < arrivalTime || (inclusive && submitted.arrivalTime[row] == arrivalTime);
+    }
+
+    /**
+     * @return Last row of the tree starting a busy period and arriving no later than the given time, or NIL.
+     */
+    private int lastPeriodUpTo(int arrivalTime) {
+        int found = NIL;
+        boolean subtree = false;
+        for (int t = root; t != NIL; ) {
+            if (submitted.arrivalTime[t] > arrivalTime) {
+                t = left[t];
+                continue;
+            }
+            if (periodCount[t] > 0) {
+                found = t;
+                subtree = false;
+            } else if (periods(left[t]) > 0) {
+                found = left[t];
+                subtree = true;
+            }
+            t = right[t];
+        }
+        while (subtree) {
+            if (periods(right[found]) > 0) {
+                found = right[found];
+            } else if (periodCount[found] > 0) {
+                subtree = false;
+            } else {
+                found = left[found];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return First row of the tree starting a busy period and arriving after the given time, or NIL.
+     */
+    private int firstPeriodAfter(int arrivalTime) {
+        int found = NIL;
+        boolean subtree = false;
+        for (int t = root; t != NIL; ) {
+            if (submitted.arrivalTime[t] <= arrivalTime) {
+                t = right[t];
+                continue;
+            }
+            if (periodCount[t] > 0) {
+                found = t;
+                subtree = false;
+            } else if (periods(right[t]) > 0) {
+                found = right[t];
+                subtree = true;
+            }
+            t = left[t];
+        }
+        while (subtree) {
+            if (periods(left[found]) > 0) {
+                found = left[found];
+            } else if (periodCount[found] > 0) {
+                subtree = false;
+            } else {
+                found = right[found];
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Inserts a row after the rows of the subtree with the same or an earlier arrival time.
+     * @return New root of the subtree.
+     */
+    private int insert(int t, int row) {
+        if (t == NIL) {
+            update(row);
+            return row;
+        }
+        if (submitted.arrivalTime[row] >= submitted.arrivalTime[t]) {
+            right[t] = insert(right[t], row);
+            if (priority(right[t]) > priority(t)) {
+                int r = right[t];
+                right[t] = left[r];
+                left[r] = t;
+                update(t);
+                t = r;
+            }
+        } else {
+            left[t] = insert(left[t], row);
+            if (priority(left[t]) > priority(t)) {
+                int l = left[t];
+                left[t] = right[l];
+                right[l] = t;
+                update(t);
+                t = l;
+            }
+        }
+        update(t);
+        return t;
+    }
+
+    /**
+     * Joins two trees, every row of the first coming before every row of the second.
+     * @return Root of the joined tree.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    /**
+     * Builds a tree of the rows [from, to), already in arrival order, in O(to - from): every row becomes
+     * the right child of the last row with a higher priority and takes the rows popped for it as its left subtree.
+     * @return Root of the tree, NIL if the range is empty.
+     */
+    private int build(int from, int to) {
+        int[] stack = new int[to - from];
+        int top = 0;
+        for (int row = from; row < to; row++) {
+            int popped = NIL;
+            while (top > 0 && priority(stack[top - 1]) < priority(row)) {
+                popped = stack[--top];
+                update(popped);
+            }
+            left[row] = popped;
+            right[row] = NIL;
+            if (top > 0) {
+                right[stack[top - 1]] = row;
+            }
+            stack[top++] = row;
+        }
+        while (top > 1) {
+            update(stack[--top]);
+        }
+        if (top == 0) {
+            return NIL;
+        }
+        update(stack[0]);
+        return stack[0];
+    }
+
+    private void update(int t) {
+        count[t] = count(left[t]) + count(right[t]) + 1;
+        periods[t] = periods(left[t]) + periods(right[t]) + (periodCount[t] > 0 ? 1 : 0);
+        burstSum[t] = burstSum(left[t]) + burstSum(right[t]) + submitted.burstTime[t];
+    }
+
+    private int count(int t) {
+        return t == NIL ? 0 : count[t];
+    }
+
+    private int periods(int t) {
+        return t == NIL ? 0 : periods[t];
+    }
+
+    private long burstSum(int t) {
+        return t == NIL ? 0 : burstSum[t];
+    }
+
+    /**
+     * @return Heap priority of a row in the treap, a hash of the row so that the tree is balanced whatever the
+     * arrival order.
+     */
+    private static int priority(int row) {
+        int h = row * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        int capacity = left.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        count = Arrays.copyOf(count, capacity);
+        periods = Arrays.copyOf(periods, capacity);
+        burstSum = Arrays.copyOf(burstSum, capacity);
+        periodEnd = Arrays.copyOf(periodEnd, capacity);
+        periodCount = Arrays.copyOf(periodCount, capacity);
+    }
+}
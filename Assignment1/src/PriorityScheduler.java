@@ -0,0 +1,31 @@
+/*
+ * File:	PriorityScheduler.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.ArrayList;
+
+/**
+ * Non-preemptive priority scheduling.
+ * <p>
+ * Whenever the CPU becomes free the arrived process with the lowest priority value runs to completion.
+ * Ties go to the process that arrived first.
+ */
+public class PriorityScheduler extends Scheduler {
+
+    public PriorityScheduler(ArrayList<Process> processes) {
+        super(processes);
+    }
+
+    public PriorityScheduler(ProcessTable table) {
+        super(table);
+    }
+
+    @Override
+    protected void schedule() {
+        segments = new GanttSegments(table.size());
+        SJF.runNonPreemptive(this, table.priority);
+    }
+}
@@ -13,6 +13,8 @@ public class Process {
 	int completedTime;
 	int turnaroundTime;
 	int waitingTime;
+	int priority;
+	int core;
 
 	public Process(int processId, int arrivalTime, int burstTime) {
 		this.processId = processId;
@@ -20,6 +22,12 @@ public class Process {
 		this.burstTime = burstTime;
 	}
 
+	// Lower priority value is scheduled first by the priority scheduler
+	public Process(int processId, int arrivalTime, int burstTime, int priority) {
+		this(processId, arrivalTime, burstTime);
+		this.priority = priority;
+	}
+
 	public void setCompletedTime(int completedTime) {
 		this.completedTime = completedTime;
 	}
@@ -32,6 +40,10 @@ public class Process {
 		this.waitingTime = waitingTime;
 	}
 
+	public void setCore(int core) {
+		this.core = core;
+	}
+
 	public int getArrivalTime(){
 		return arrivalTime;
 	}
@@ -55,4 +67,13 @@ public class Process {
 	public int getProcessId(){
 		return processId;
 	}
+
+	public int getPriority(){
+		return priority;
+	}
+
+	// CPU that ran the process when scheduled on more than one CPU
+	public int getCore(){
+		return core;
+	}
 }
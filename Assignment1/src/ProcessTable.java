@@ -0,0 +1,358 @@
+/*
+ * File:	ProcessTable.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive struct-of-arrays process table.
+ * <p>
+ * Every column is a plain int[] indexed by row, so a trace of n processes costs 7 * 4 * n bytes for
+ * the id, arrival, burst, completed, turnaround, waiting and priority columns, plus 4 * n bytes once a
+ * multi-CPU schedule adds the core column, instead of one heap object per process. Scheduling walks
+ * the columns sequentially.
+ */
+public class ProcessTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Rows above which the sort runs on the common fork-join pool
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
+    int size;
+
+    int[] processId;
+    int[] arrivalTime;
+    int[] burstTime;
+    int[] completedTime;
+    int[] turnaroundTime;
+    int[] waitingTime;
+    int[] priority;
+
+    // CPU that ran each row, null until a multi-CPU schedule assigns cores
+    int[] core;
+
+    public ProcessTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProcessTable(int capacity) {
+        capacity = Math.max(capacity, 1);
+        processId = new int[capacity];
+        arrivalTime = new int[capacity];
+        burstTime = new int[capacity];
+        completedTime = new int[capacity];
+        turnaroundTime = new int[capacity];
+        waitingTime = new int[capacity];
+        priority = new int[capacity];
+    }
+
+    /**
+     * Copies the id, arrival and burst time of the given processes into a new table, keeping the list order.
+     * @param processes Processes to copy.
+     * @return Table with one row per process.
+     */
+    public static ProcessTable of(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            table.add(p.getProcessId(), p.getArrivalTime(), p.getBurstTime(), p.getPriority());
+        }
+        return table;
+    }
+
+    /**
+     * Appends a process to the table.
+     * @return Row of the added process.
+     */
+    public int add(int processId, int arrivalTime, int burstTime) {
+        if (size == this.processId.length) {
+            grow(size + 1);
+        }
+        this.processId[size] = processId;
+        this.arrivalTime[size] = arrivalTime;
+        this.burstTime[size] = burstTime;
+        return size++;
+    }
+
+    /**
+     * Appends a process with a priority to the table.
+     * @return Row of the added process.
+     */
+    public int add(int processId, int arrivalTime, int burstTime, int priority) {
+        int row = add(processId, arrivalTime, burstTime);
+        this.priority[row] = priority;
+        return row;
+    }
+
+    /**
+     * Inserts a process before the given row, moving the following rows down by one.
+     * @param row Row the process gets, 0 to size.
+     */
+    public void insert(int row, int processId, int arrivalTime, int burstTime) {
+        if (row < 0 || row > size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        if (size == this.processId.length) {
+            grow(size + 1);
+        }
+
+        int moved = size - row;
+        System.arraycopy(this.processId, row, this.processId, row + 1, moved);
+        System.arraycopy(this.arrivalTime, row, this.arrivalTime, row + 1, moved);
+        System.arraycopy(this.burstTime, row, this.burstTime, row + 1, moved);
+        System.arraycopy(completedTime, row, completedTime, row + 1, moved);
+        System.arraycopy(turnaroundTime, row, turnaroundTime, row + 1, moved);
+        System.arraycopy(waitingTime, row, waitingTime, row + 1, moved);
+        System.arraycopy(priority, row, priority, row + 1, moved);
+        if (core != null) {
+            System.arraycopy(core, row, core, row + 1, moved);
+        }
+
+        this.processId[row] = processId;
+        this.arrivalTime[row] = arrivalTime;
+        this.burstTime[row] = burstTime;
+        priority[row] = 0;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getProcessId(int row) {
+        return processId[row];
+    }
+
+    public int getArrivalTime(int row) {
+        return arrivalTime[row];
+    }
+
+    public int getBurstTime(int row) {
+        return burstTime[row];
+    }
+
+    public int getCompletedTime(int row) {
+        return completedTime[row];
+    }
+
+    public int getTurnaroundTime(int row) {
+        return turnaroundTime[row];
+    }
+
+    public int getWaitingTime(int row) {
+        return waitingTime[row];
+    }
+
+    public int getPriority(int row) {
+        return priority[row];
+    }
+
+    public int getCore(int row) {
+        return core == null ? 0 : core[row];
+    }
+
+    /**
+     * @return True if a multi-CPU schedule assigned cores to the rows.
+     */
+    public boolean hasCores() {
+        return core != null;
+    }
+
+    /**
+     * Creates the core column, or drops it when scheduling on one CPU.
+     */
+    void useCores(boolean cores) {
+        core = cores ? new int[processId.length] : null;
+    }
+
+    public void setCompletedTime(int row, int completedTime) {
+        this.completedTime[row] = completedTime;
+    }
+
+    public void setTurnaroundTime(int row, int turnaroundTime) {
+        this.turnaroundTime[row] = turnaroundTime;
+    }
+
+    public void setWaitingTime(int row, int waitingTime) {
+        this.waitingTime[row] = waitingTime;
+    }
+
+    /**
+     * @param row Row in the table.
+     * @return Process view reading and writing the row in place.
+     */
+    public Process get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return new Row(row);
+    }
+
+    /**
+     * Stable sort of all rows by arrival time.
+     * <p>
+     * Arrival time and original row are packed into one long per row, so the sort runs on a
+     * primitive array and equal arrival times keep their insertion order (as List.sort does).
+     */
+    public void sortByArrival() {
+        if (isSortedByArrival()) {
+            return;
+        }
+
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) arrivalTime[i] << 32) | i;
+        }
+        if (size > PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+
+        processId = permute(processId, order);
+        arrivalTime = permute(arrivalTime, order);
+        burstTime = permute(burstTime, order);
+        completedTime = permute(completedTime, order);
+        turnaroundTime = permute(turnaroundTime, order);
+        waitingTime = permute(waitingTime, order);
+        priority = permute(priority, order);
+        if (core != null) {
+            core = permute(core, order);
+        }
+    }
+
+    /**
+     * @return True if arrival times never decrease from one row to the next.
+     */
+    public boolean isSortedByArrival() {
+        for (int i = 1; i < size; i++) {
+            if (arrivalTime[i] < arrivalTime[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the computed times back into the given processes, row i into processes.get(i).
+     * @param processes Processes in the same order as the rows.
+     */
+    public void copyTo(List<Process> processes) {
+        for (int i = 0; i < size; i++) {
+            Process p = processes.get(i);
+            p.setCompletedTime(completedTime[i]);
+            p.setTurnaroundTime(turnaroundTime[i]);
+            p.setWaitingTime(waitingTime[i]);
+            p.setCore(getCore(i));
+        }
+    }
+
+    private int[] permute(int[] column, int[] order) {
+        int[] sorted = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = column[order[i]];
+        }
+        return sorted;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, processId.length + (processId.length >> 1));
+        processId = Arrays.copyOf(processId, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        burstTime = Arrays.copyOf(burstTime, capacity);
+        completedTime = Arrays.copyOf(completedTime, capacity);
+        turnaroundTime = Arrays.copyOf(turnaroundTime, capacity);
+        waitingTime = Arrays.copyOf(waitingTime, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        if (core != null) {
+            core = Arrays.copyOf(core, capacity);
+        }
+    }
+
+    /**
+     * Process backed by a row of the table instead of its own fields.
+     */
+    private class Row extends Process {
+        private final int row;
+
+        Row(int row) {
+            super(0, 0, 0);
+            this.row = row;
+        }
+
+        @Override
+        public void setCompletedTime(int completedTime) {
+            ProcessTable.this.completedTime[row] = completedTime;
+        }
+
+        @Override
+        public void setTurnaroundTime(int turnaroundTime) {
+            ProcessTable.this.turnaroundTime[row] = turnaroundTime;
+        }
+
+        @Override
+        public void setWaitingTime(int waitingTime) {
+            ProcessTable.this.waitingTime[row] = waitingTime;
+        }
+
+        @Override
+        public int getArrivalTime() {
+            return ProcessTable.this.arrivalTime[row];
+        }
+
+        @Override
+        public int getBurstTime() {
+            return ProcessTable.this.burstTime[row];
+        }
+
+        @Override
+        public int getCompletedTime() {
+            return ProcessTable.this.completedTime[row];
+        }
+
+        @Override
+        public int getTurnaroundTime() {
+            return ProcessTable.this.turnaroundTime[row];
+        }
+
+        @Override
+        public int getWaitingTime() {
+            return ProcessTable.this.waitingTime[row];
+        }
+
+        @Override
+        public int getProcessId() {
+            return ProcessTable.this.processId[row];
+        }
+
+        @Override
+        public int getPriority() {
+            return ProcessTable.this.priority[row];
+        }
+
+        /**
+         * Creates the core column on first use, the other rows then ran on core 0.
+         */
+        @Override
+        public void setCore(int core) {
+            if (ProcessTable.this.core == null) {
+                ProcessTable.this.core = new int[ProcessTable.this.processId.length];
+            }
+            ProcessTable.this.core[row] = core;
+        }
+
+        @Override
+        public int getCore() {
+            return ProcessTable.this.getCore(row);
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 
 
@@ -12,7 +14,17 @@ public class Program {
 
     static ArrayList<Process> listOfProcesses;
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            // Program <trace> <results>: stream a trace file through FCFS instead of the list below.
+            StreamingFCFS stream = new StreamingFCFS();
+            stream.setStatistics(new ScheduleStatistics());
+            long scheduled = stream.run(Paths.get(args[0]), Paths.get(args[1]));
+            System.out.println("Scheduled " + scheduled + " processes into " + args[1]);
+            stream.getStatistics().print();
+            return;
+        }
+
         listOfProcesses = new ArrayList<>();
 
         listOfProcesses.add(new Process(1, 0, 18));
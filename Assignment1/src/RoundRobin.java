@@ -0,0 +1,74 @@
+/*
+ * File:	RoundRobin.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.ArrayList;
+
+/**
+ * Round-Robin with a fixed time quantum.
+ * <p>
+ * Processes arriving during a time slice are queued before the process that was just preempted.
+ */
+public class RoundRobin extends Scheduler {
+
+    private final int quantum;
+
+    public RoundRobin(ArrayList<Process> processes, int quantum) {
+        super(processes);
+        this.quantum = checkQuantum(quantum);
+    }
+
+    public RoundRobin(ProcessTable table, int quantum) {
+        super(table);
+        this.quantum = checkQuantum(quantum);
+    }
+
+    @Override
+    protected void schedule() {
+        segments = new GanttSegments(table.size());
+
+        int[] remaining = new int[table.size];
+        System.arraycopy(table.burstTime, 0, remaining, 0, table.size);
+
+        IntQueue ready = new IntQueue(64);
+
+        int next = 0;
+        int time = 0;
+
+        while (next < table.size || !ready.isEmpty()) {
+            if (ready.isEmpty() && time < table.arrivalTime[next]) {
+                time = table.arrivalTime[next]; // CPU idle until the next arrival.
+            }
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready.add(next++);
+            }
+
+            int row = ready.poll();
+            int end = time + Math.min(quantum, remaining[row]);
+
+            segments.add(table.processId[row], time, end);
+            remaining[row] -= end - time;
+            time = end;
+
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready.add(next++);
+            }
+
+            if (remaining[row] == 0) {
+                complete(row, time);
+            } else {
+                ready.add(row);
+            }
+        }
+    }
+
+    static int checkQuantum(int quantum) {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Quantum must be positive: " + quantum);
+        }
+        return quantum;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * File:	SJF.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.ArrayList;
+
+/**
+ * Non-preemptive Shortest Job First.
+ * <p>
+ * Whenever the CPU becomes free the arrived process with the shortest burst time runs to completion.
+ * Ties go to the process that arrived first.
+ */
+public class SJF extends Scheduler {
+
+    public SJF(ArrayList<Process> processes) {
+        super(processes);
+    }
+
+    public SJF(ProcessTable table) {
+        super(table);
+    }
+
+    @Override
+    protected void schedule() {
+        segments = new GanttSegments(table.size());
+        runNonPreemptive(this, table.burstTime);
+    }
+
+    /**
+     * Runs every process to completion in order of the given key, among the processes that have arrived.
+     * Shared with the priority scheduler, which only differs in the key.
+     * @param key Column to order the ready queue by, lowest first.
+     */
+    static void runNonPreemptive(Scheduler scheduler, int[] key) {
+        ProcessTable table = scheduler.table;
+        LongMinHeap ready = new LongMinHeap(64);
+
+        int next = 0;
+        int time = 0;
+
+        while (next < table.size || !ready.isEmpty()) {
+            if (ready.isEmpty() && time < table.arrivalTime[next]) {
+                time = table.arrivalTime[next]; // CPU idle until the next arrival.
+            }
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready.push(LongMinHeap.key(key[next], next));
+                next++;
+            }
+
+            int row = LongMinHeap.row(ready.pop());
+            int start = time;
+            time += table.burstTime[row];
+
+            scheduler.complete(row, time);
+            scheduler.segments.add(table.processId[row], start, time);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * File:	SRTF.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.util.ArrayList;
+
+/**
+ * Shortest Remaining Time First, the preemptive version of SJF.
+ * <p>
+ * The process with the least remaining time runs until it completes or until the next arrival,
+ * when the ready queue is consulted again. Ties go to the process that arrived first.
+ */
+public class SRTF extends Scheduler {
+
+    public SRTF(ArrayList<Process> processes) {
+        super(processes);
+    }
+
+    public SRTF(ProcessTable table) {
+        super(table);
+    }
+
+    @Override
+    protected void schedule() {
+        segments = new GanttSegments(table.size());
+
+        int[] remaining = new int[table.size];
+        System.arraycopy(table.burstTime, 0, remaining, 0, table.size);
+
+        LongMinHeap ready = new LongMinHeap(64);
+
+        int next = 0;
+        int time = 0;
+
+        while (next < table.size || !ready.isEmpty()) {
+            if (ready.isEmpty() && time < table.arrivalTime[next]) {
+                time = table.arrivalTime[next]; // CPU idle until the next arrival.
+            }
+            while (next < table.size && table.arrivalTime[next] <= time) {
+                ready.push(LongMinHeap.key(remaining[next], next));
+                next++;
+            }
+
+            int row = LongMinHeap.row(ready.pop());
+
+            // Run until completion or until the next arrival may preempt.
+            int end = time + remaining[row];
+            if (next < table.size && table.arrivalTime[next] < end) {
+                end = table.arrivalTime[next];
+            }
+
+            segments.add(table.processId[row], time, end);
+            remaining[row] -= end - time;
+            time = end;
+
+            if (remaining[row] == 0) {
+                complete(row, time);
+            } else {
+                ready.push(LongMinHeap.key(remaining[row], row));
+            }
+        }
+    }
+}
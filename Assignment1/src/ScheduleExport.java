@@ -0,0 +1,314 @@
+/*
+ * File:	ScheduleExport.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exports the result of a schedule as columnar binary or as CSV.
+ * <p>
+ * The binary export is a header of four little-endian ints (MAGIC, VERSION, rows, segments), followed by
+ * one block of rows ints per table column (pid, arrival, burst, completed, turnaround, waiting) and one
+ * block of segments ints per Gantt column (pid, start, end, core). Every block is a plain int array, so
+ * map() gives the columns back as buffers over the mapped file without parsing anything.
+ * <p>
+ * The CSV export writes one line per row or segment, formatted straight into a direct buffer.
+ */
+public class ScheduleExport {
+
+    // "SCHD" read as a little-endian int
+    public static final int MAGIC = 0x44484353;
+    public static final int VERSION = 1;
+
+    // Size in bytes of the (magic, version, rows, segments) header
+    public static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    public static final int TABLE_COLUMNS = 6;
+    public static final int SEGMENT_COLUMNS = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Longest CSV line: six ints of at most 11 characters, their separators and the newline
+    private static final int MAX_LINE = TABLE_COLUMNS * 12;
+
+    private ScheduleExport() {
+    }
+
+    /**
+     * Writes the table and the Gantt segments of a scheduler that has run.
+     * @param path File to create or overwrite.
+     * @throws IllegalStateException If run() has not been called on the scheduler.
+     */
+    public static void write(Scheduler scheduler, Path path) throws IOException {
+        if (!scheduler.hasRun()) {
+            throw new IllegalStateException("Scheduler has not run");
+        }
+        write(scheduler.getTable(), scheduler.getSegments(), path);
+    }
+
+    /**
+     * Writes a scheduled table and its segments as columnar binary.
+     * @param path File to create or overwrite.
+     */
+    public static void write(ProcessTable table, GanttSegments segments, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(table, segments, channel);
+        }
+    }
+
+    /**
+     * Writes a scheduled table and its segments as columnar binary to a channel.
+     * @param out Channel receiving the header and the column blocks.
+     * @return Number of bytes written.
+     */
+    public static long write(ProcessTable table, GanttSegments segments, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(TraceFile.ORDER);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(table.size());
+        buffer.putInt(segments.size());
+
+        putColumn(table.processId, table.size(), buffer, out);
+        putColumn(table.arrivalTime, table.size(), buffer, out);
+        putColumn(table.burstTime, table.size(), buffer, out);
+        putColumn(table.completedTime, table.size(), buffer, out);
+        putColumn(table.turnaroundTime, table.size(), buffer, out);
+        putColumn(table.waitingTime, table.size(), buffer, out);
+
+        for (int column = 0; column < SEGMENT_COLUMNS; column++) {
+            for (int i = 0; i < segments.size(); i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    TraceFile.drain(buffer, out);
+                }
+                buffer.putInt(segmentValue(segments, column, i));
+            }
+        }
+        TraceFile.drain(buffer, out);
+
+        return HEADER_SIZE + (long) Integer.BYTES
+                * ((long) TABLE_COLUMNS * table.size() + (long) SEGMENT_COLUMNS * segments.size());
+    }
+
+    /**
+     * Copies the first size values of a column into the buffer in bulk, draining it whenever it is full.
+     */
+    private static void putColumn(int[] column, int size, ByteBuffer buffer, WritableByteChannel out)
+            throws IOException {
+        int i = 0;
+        while (i < size) {
+            if (buffer.remaining() < Integer.BYTES) {
+                TraceFile.drain(buffer, out);
+            }
+            int n = Math.min(buffer.remaining() / Integer.BYTES, size - i);
+            buffer.asIntBuffer().put(column, i, n);
+            buffer.position(buffer.position() + n * Integer.BYTES);
+            i += n;
+        }
+    }
+
+    private static int segmentValue(GanttSegments segments, int column, int segment) {
+        switch (column) {
+            case 0:
+                return segments.getProcessId(segment);
+            case 1:
+                return segments.getStart(segment);
+            case 2:
+                return segments.getEnd(segment);
+            default:
+                return segments.getCore(segment);
+        }
+    }
+
+    /**
+     * Maps a binary export into memory.
+     * @param path File written by write().
+     * @return Columns of the export, read straight from the mapping.
+     */
+    public static Columns map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(TraceFile.ORDER);
+            // The mapping stays valid once the channel is closed.
+            return new Columns(buffer, path);
+        }
+    }
+
+    /**
+     * Columns of a mapped export, each an IntBuffer of rows or segments values over the mapping.
+     */
+    public static class Columns {
+
+        private final int rows;
+        private final int segments;
+        private final IntBuffer[] table = new IntBuffer[TABLE_COLUMNS];
+        private final IntBuffer[] gantt = new IntBuffer[SEGMENT_COLUMNS];
+
+        Columns(ByteBuffer buffer, Path path) throws IOException {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a schedule export: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported schedule export version " + buffer.getInt(4) + ": " + path);
+            }
+            rows = buffer.getInt(8);
+            segments = buffer.getInt(12);
+
+            long expected = HEADER_SIZE + (long) Integer.BYTES
+                    * ((long) TABLE_COLUMNS * rows + (long) SEGMENT_COLUMNS * segments);
+            if (rows < 0 || segments < 0 || buffer.limit() != expected) {
+                throw new IOException("Schedule export has " + buffer.limit() + " bytes instead of " + expected
+                        + ": " + path);
+            }
+
+            int offset = HEADER_SIZE;
+            for (int column = 0; column < TABLE_COLUMNS; column++) {
+                table[column] = column(buffer, offset, rows);
+                offset += rows * Integer.BYTES;
+            }
+            for (int column = 0; column < SEGMENT_COLUMNS; column++) {
+                gantt[column] = column(buffer, offset, segments);
+                offset += segments * Integer.BYTES;
+            }
+        }
+
+        private static IntBuffer column(ByteBuffer buffer, int offset, int length) {
+            ByteBuffer block = buffer.duplicate();
+            block.position(offset).limit(offset + length * Integer.BYTES);
+            return block.slice().order(TraceFile.ORDER).asIntBuffer();
+        }
+
+        public int size() {
+            return rows;
+        }
+
+        public int getSegmentCount() {
+            return segments;
+        }
+
+        public IntBuffer getProcessIds() {
+            return table[0].duplicate();
+        }
+
+        public IntBuffer getArrivalTimes() {
+            return table[1].duplicate();
+        }
+
+        public IntBuffer getBurstTimes() {
+            return table[2].duplicate();
+        }
+
+        public IntBuffer getCompletedTimes() {
+            return table[3].duplicate();
+        }
+
+        public IntBuffer getTurnaroundTimes() {
+            return table[4].duplicate();
+        }
+
+        public IntBuffer getWaitingTimes() {
+            return table[5].duplicate();
+        }
+
+        public IntBuffer getSegmentProcessIds() {
+            return gantt[0].duplicate();
+        }
+
+        public IntBuffer getSegmentStarts() {
+            return gantt[1].duplicate();
+        }
+
+        public IntBuffer getSegmentEnds() {
+            return gantt[2].duplicate();
+        }
+
+        public IntBuffer getSegmentCores() {
+            return gantt[3].duplicate();
+        }
+    }
+
+    /**
+     * Writes the table as CSV, one line of pid, arrival, burst, completed, turnaround and waiting time per row.
+     * @param path File to create or overwrite.
+     */
+    public static void writeCsv(ProcessTable table, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            putAscii(buffer, "pid,arrival,burst,completed,turnaround,waiting\n");
+            for (int i = 0; i < table.size(); i++) {
+                if (buffer.remaining() < MAX_LINE) {
+                    TraceFile.drain(buffer, channel);
+                }
+                putDecimal(buffer, table.processId[i], ',');
+                putDecimal(buffer, table.arrivalTime[i], ',');
+                putDecimal(buffer, table.burstTime[i], ',');
+                putDecimal(buffer, table.completedTime[i], ',');
+                putDecimal(buffer, table.turnaroundTime[i], ',');
+                putDecimal(buffer, table.waitingTime[i], '\n');
+            }
+            TraceFile.drain(buffer, channel);
+        }
+    }
+
+    /**
+     * Writes the segments as CSV, one line of pid, start, end and core per segment.
+     * @param path File to create or overwrite.
+     */
+    public static void writeSegmentsCsv(GanttSegments segments, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            putAscii(buffer, "pid,start,end,core\n");
+            for (int i = 0; i < segments.size(); i++) {
+                if (buffer.remaining() < MAX_LINE) {
+                    TraceFile.drain(buffer, channel);
+                }
+                putDecimal(buffer, segments.getProcessId(i), ',');
+                putDecimal(buffer, segments.getStart(i), ',');
+                putDecimal(buffer, segments.getEnd(i), ',');
+                putDecimal(buffer, segments.getCore(i), '\n');
+            }
+            TraceFile.drain(buffer, channel);
+        }
+    }
+
+    private static void putAscii(ByteBuffer buffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Puts the decimal digits of a value and a separator without creating a String.
+     */
+    static void putDecimal(ByteBuffer buffer, int value, char separator) {
+        long v = value;
+        if (v < 0) {
+            buffer.put((byte) '-');
+            v = -v;
+        }
+        int start = buffer.position();
+        do {
+            buffer.put((byte) ('0' + v % 10));
+            v /= 10;
+        } while (v > 0);
+        // The digits went in from the lowest, reverse them in place.
+        for (int i = start, j = buffer.position() - 1; i < j; i++, j--) {
+            byte digit = buffer.get(i);
+            buffer.put(i, buffer.get(j));
+            buffer.put(j, digit);
+        }
+        buffer.put((byte) separator);
+    }
+}
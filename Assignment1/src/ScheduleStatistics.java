@@ -0,0 +1,131 @@
+/*
+ * File:	ScheduleStatistics.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.text.DecimalFormat;
+
+/**
+ * Summary of a schedule, recorded one process at a time while it is scheduled.
+ * <p>
+ * Waiting and turnaround times go into LogHistograms, everything else is a running total, so the memory used
+ * is the same for ten processes or a billion. Statistics of shards scheduled separately (for example the
+ * chunks of a parallel run) are combined with merge().
+ * <p>
+ * The schedulers never leave the CPU idle while a process is ready, so the CPU is busy from the first
+ * arrival (or time 0) to the last completion except for the idle time, as in the Gantt chart.
+ */
+public class ScheduleStatistics {
+
+    private final int cpus;
+
+    private final LogHistogram waitingTime = new LogHistogram();
+    private final LogHistogram turnaroundTime = new LogHistogram();
+
+    private long totalBurstTime;
+    private long firstArrival = Long.MAX_VALUE;
+    private long lastCompleted = Long.MIN_VALUE;
+
+    public ScheduleStatistics() {
+        this(1);
+    }
+
+    /**
+     * @param cpus Number of CPUs the schedule runs on, for the utilisation.
+     */
+    public ScheduleStatistics(int cpus) {
+        this.cpus = cpus;
+    }
+
+    /**
+     * @return Empty statistics for a shard of the same schedule.
+     */
+    public ScheduleStatistics newShard() {
+        return new ScheduleStatistics(cpus);
+    }
+
+    /**
+     * Records a scheduled process.
+     */
+    public void record(int arrivalTime, int burstTime, int completedTime) {
+        long turnaround = (long) completedTime - arrivalTime;
+        turnaroundTime.record(turnaround);
+        waitingTime.record(turnaround - burstTime);
+
+        totalBurstTime += burstTime;
+        firstArrival = Math.min(firstArrival, arrivalTime);
+        lastCompleted = Math.max(lastCompleted, completedTime);
+    }
+
+    /**
+     * Adds the processes recorded by another shard to these statistics.
+     */
+    public void merge(ScheduleStatistics other) {
+        waitingTime.merge(other.waitingTime);
+        turnaroundTime.merge(other.turnaroundTime);
+        totalBurstTime += other.totalBurstTime;
+        firstArrival = Math.min(firstArrival, other.firstArrival);
+        lastCompleted = Math.max(lastCompleted, other.lastCompleted);
+    }
+
+    public long getCount() {
+        return waitingTime.getCount();
+    }
+
+    public LogHistogram getWaitingTime() {
+        return waitingTime;
+    }
+
+    public LogHistogram getTurnaroundTime() {
+        return turnaroundTime;
+    }
+
+    public long getTotalBurstTime() {
+        return totalBurstTime;
+    }
+
+    /**
+     * @return Time from the first start (first arrival or 0, whichever is later) to the last completion.
+     */
+    public long getMakespan() {
+        if (getCount() == 0) {
+            return 0;
+        }
+        return lastCompleted - Math.max(firstArrival, 0);
+    }
+
+    /**
+     * @return Time the CPUs wait in between processes, summed over all CPUs.
+     */
+    public long getIdleTime() {
+        return getMakespan() * cpus - totalBurstTime;
+    }
+
+    /**
+     * @return Share of the makespan the CPUs are busy, between 0 and 1.
+     */
+    public double getUtilisation() {
+        long capacity = getMakespan() * cpus;
+        return capacity == 0 ? 0 : (double) totalBurstTime / capacity;
+    }
+
+    public void print() {
+        DecimalFormat df2 = new DecimalFormat("0.##");
+        System.out.println("------------------------------------");
+        System.out.println("\tMEAN\tP50\tP99\tP99.9\tMAX");
+        printHistogram("WT", waitingTime, df2);
+        printHistogram("TAT", turnaroundTime, df2);
+        System.out.println("------------------------------------");
+        System.out.println("Processes: " + getCount() + "\tIdle: " + getIdleTime()
+                + "\tCPU utilisation: " + df2.format(getUtilisation() * 100) + "%");
+        System.out.println("------------------------------------");
+    }
+
+    private void printHistogram(String name, LogHistogram histogram, DecimalFormat df2) {
+        System.out.println(name + "\t" + df2.format(histogram.getMean()) + "\t" + histogram.getPercentile(50)
+                + "\t" + histogram.getPercentile(99) + "\t" + histogram.getPercentile(99.9)
+                + "\t" + histogram.getMax());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * File:	Scheduler.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Common base of the scheduling policies.
+ * <p>
+ * A scheduler works on a ProcessTable sorted by arrival time. Subclasses fill in the completion time of
+ * every row through complete() and the time line through segments, the table and Gantt output is shared.
+ */
+public abstract class Scheduler {
+
+    // The list of processes to be scheduled, null when scheduling a ProcessTable directly
+    public ArrayList<Process> processes;
+
+    // Primitive columns the schedule is computed on
+    protected ProcessTable table;
+
+    // Time line of the last run
+    protected GanttSegments segments;
+
+    // Summary recorded while scheduling, null when not wanted
+    protected ScheduleStatistics statistics;
+
+    // True once run() has filled in the table
+    private boolean hasRun;
+
+    protected Scheduler(ArrayList<Process> processes) {
+        this.processes = processes;
+    }
+
+    /**
+     * Schedules a process table directly, without any Process objects.
+     * @param table Table to be scheduled, sorted by arrival time in place by run().
+     */
+    protected Scheduler(ProcessTable table) {
+        this.table = table;
+    }
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    public GanttSegments getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return True if run() has been called, so the table holds a schedule.
+     */
+    public boolean hasRun() {
+        return hasRun;
+    }
+
+    /**
+     * Records every process into the given statistics while it is scheduled by run().
+     * @param statistics Statistics to record into, null to record nothing.
+     */
+    public void setStatistics(ScheduleStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public ScheduleStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Sorts the processes by arrival time and schedules them.
+     */
+    public void run() {
+
+        if (processes != null) {
+            this.processes.sort(Comparator.comparingInt(Process::getArrivalTime));
+            table = ProcessTable.of(processes);
+        } else {
+            table.sortByArrival();
+        }
+
+        segments = null;
+        schedule();
+        hasRun = true;
+
+        if (processes != null) {
+            table.copyTo(processes);
+        }
+    }
+
+    /**
+     * Computes the schedule of the table, which is sorted by arrival time.
+     */
+    protected abstract void schedule();
+
+    /**
+     * Sets the completion time of a row and derives its turnaround and waiting time.
+     */
+    protected void complete(int row, int completedTime) {
+        int turnaroundTime = completedTime - table.arrivalTime[row];
+        table.completedTime[row] = completedTime;
+        table.turnaroundTime[row] = turnaroundTime;
+        table.waitingTime[row] = turnaroundTime - table.burstTime[row];
+
+        if (statistics != null) {
+            statistics.record(table.arrivalTime[row], table.burstTime[row], completedTime);
+        }
+    }
+
+    /**
+     * @return Renderer for the table and Gantt chart of the last run.
+     */
+    public GanttRenderer renderer() {
+        return new GanttRenderer(table, getSegments());
+    }
+
+    public void printTable() {
+        Writer out = consoleWriter();
+        try {
+            renderer().writeTable(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void printGanttChart() {
+        Writer out = consoleWriter();
+        try {
+            renderer().writeGanttChart(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return Buffered writer on System.out, flushed but never closed by the callers.
+     */
+    private Writer consoleWriter() {
+        return new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+    }
+}
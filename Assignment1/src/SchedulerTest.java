@@ -0,0 +1,104 @@
+/*
+ * File:	SchedulerTest.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+
+public class SchedulerTest {
+
+	private ArrayList<Process> processes() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+
+		//the fourth method parameter is the priority, lower runs first
+		listOfProcesses.add(new Process(1, 0, 7, 3));
+		listOfProcesses.add(new Process(2, 2, 4, 1));
+		listOfProcesses.add(new Process(3, 4, 1, 4));
+		listOfProcesses.add(new Process(4, 5, 4, 2));
+		return listOfProcesses;
+	}
+
+	private void assertCompleted(Scheduler scheduler, int[] processCT) {
+		scheduler.run();
+
+		for (int i = 0; i < scheduler.processes.size(); i++) {
+			Process p = scheduler.processes.get(i);
+			assertEquals(i + 1, p.getProcessId());
+			assertEquals(processCT[i], p.getCompletedTime());
+			assertEquals(processCT[i] - p.getArrivalTime(), p.getTurnaroundTime());
+			assertEquals(p.getTurnaroundTime() - p.getBurstTime(), p.getWaitingTime());
+		}
+	}
+
+	@org.junit.Test
+	public void testSJF() {
+		assertCompleted(new SJF(processes()), new int[]{7, 12, 8, 16});
+	}
+
+	@org.junit.Test
+	public void testSRTF() {
+		SRTF srtf = new SRTF(processes());
+		assertCompleted(srtf, new int[]{16, 7, 5, 11});
+
+		int[] segmentIds   = new int[]{1, 2, 3, 2, 4, 1};
+		int[] segmentStart = new int[]{0, 2, 4, 5, 7, 11};
+		int[] segmentEnd   = new int[]{2, 4, 5, 7, 11, 16};
+
+		GanttSegments segments = srtf.getSegments();
+		assertEquals(segmentIds.length, segments.size());
+		for (int i = 0; i < segments.size(); i++) {
+			assertEquals(segmentIds[i], segments.getProcessId(i));
+			assertEquals(segmentStart[i], segments.getStart(i));
+			assertEquals(segmentEnd[i], segments.getEnd(i));
+		}
+	}
+
+	@org.junit.Test
+	public void testPriority() {
+		assertCompleted(new PriorityScheduler(processes()), new int[]{7, 11, 16, 15});
+	}
+
+	@org.junit.Test
+	public void testRoundRobin() {
+		assertCompleted(new RoundRobin(processes(), 2), new int[]{16, 9, 7, 15});
+	}
+
+	@org.junit.Test
+	public void testMLFQ() {
+		assertCompleted(new MLFQ(processes(), 3, 2), new int[]{16, 13, 5, 15});
+	}
+
+	@org.junit.Test
+	public void testIdleCPU() {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+		listOfProcesses.add(new Process(1, 3, 2));
+		listOfProcesses.add(new Process(2, 10, 3));
+
+		assertCompleted(new SRTF(listOfProcesses), new int[]{5, 13});
+	}
+
+	@org.junit.Test
+	public void testCompactGanttChart() throws IOException {
+		ArrayList<Process> listOfProcesses = new ArrayList<Process>();
+		listOfProcesses.add(new Process(1, 0, 1000000));
+		listOfProcesses.add(new Process(2, 2000000, 3));
+
+		FCFS myFcfs = new FCFS(listOfProcesses);
+		myFcfs.run();
+
+		String[] lines = myFcfs.renderer().setMaxRunWidth(2).render().split(System.lineSeparator());
+
+		//table (2 rows + 3 lines) followed by border, ids, border and times
+		assertEquals("==================", lines[5]);
+		assertEquals("|  P1  |**|  P2  |", lines[6]);
+		assertEquals(lines[5], lines[7]);
+		assertEquals("0     1000000  2000000     2000003", lines[8]);
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * File:	StreamingFCFS.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FCFS over a trace file that does not have to fit in memory.
+ * <p>
+ * The trace (see TraceFile) is mapped one window at a time and every record is scheduled as soon as it
+ * is read, with the same rule as FCFS.run(). Only the previous completion and arrival time are kept,
+ * so the heap used does not depend on the size of the trace.
+ */
+public class StreamingFCFS {
+
+    // Records mapped at a time, 64 MB of trace per window by default
+    private static final int DEFAULT_WINDOW_RECORDS = (64 << 20) / TraceFile.RECORD_SIZE;
+
+    private static final int OUTPUT_BUFFER_RECORDS = 4096;
+
+    private final int windowRecords;
+
+    private int previousCompleted;
+    private int previousArrival;
+    private long processed;
+
+    // Summary recorded while streaming, null when not wanted
+    private ScheduleStatistics statistics;
+
+    public StreamingFCFS() {
+        this(DEFAULT_WINDOW_RECORDS);
+    }
+
+    /**
+     * @param windowRecords Number of trace records mapped into memory at a time.
+     */
+    public StreamingFCFS(int windowRecords) {
+        if (windowRecords <= 0) {
+            throw new IllegalArgumentException("Window must hold at least one record");
+        }
+        this.windowRecords = windowRecords;
+    }
+
+    /**
+     * Schedules a trace file and writes the result file.
+     * @param trace Arrival-sorted trace to read.
+     * @param results File to create or overwrite with the scheduled records.
+     * @return Number of processes scheduled.
+     */
+    public long run(Path trace, Path results) throws IOException {
+        try (FileChannel out = FileChannel.open(results, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return run(trace, out);
+        }
+    }
+
+    /**
+     * Schedules a trace file and writes the scheduled records to a channel.
+     * @param trace Arrival-sorted trace to read.
+     * @param out Channel receiving (pid, arrival, burst, completed, turnaround, waiting) records.
+     * @return Number of processes scheduled.
+     */
+    public long run(Path trace, WritableByteChannel out) throws IOException {
+        previousCompleted = 0;
+        previousArrival = Integer.MIN_VALUE;
+        processed = 0;
+
+        ByteBuffer output = ByteBuffer.allocateDirect(OUTPUT_BUFFER_RECORDS * TraceFile.RESULT_RECORD_SIZE)
+                .order(TraceFile.ORDER);
+
+        try (FileChannel in = FileChannel.open(trace, StandardOpenOption.READ)) {
+            long records = in.size() / TraceFile.RECORD_SIZE;
+            long windowBytes = (long) windowRecords * TraceFile.RECORD_SIZE;
+
+            for (long position = 0; position < records * TraceFile.RECORD_SIZE; position += windowBytes) {
+                long length = Math.min(windowBytes, records * TraceFile.RECORD_SIZE - position);
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                window.order(TraceFile.ORDER);
+
+                while (window.hasRemaining()) {
+                    if (output.remaining() < TraceFile.RESULT_RECORD_SIZE) {
+                        TraceFile.drain(output, out);
+                    }
+                    schedule(window.getInt(), window.getInt(), window.getInt(), output);
+                }
+            }
+        }
+
+        TraceFile.drain(output, out);
+        return processed;
+    }
+
+    /**
+     * Records every streamed process into the given statistics, which use constant memory like the stream.
+     * @param statistics Statistics to record into, null to record nothing.
+     */
+    public void setStatistics(ScheduleStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public ScheduleStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * @return Number of processes scheduled by the last run.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * @return Completion time of the last process scheduled.
+     */
+    public int getLastCompletedTime() {
+        return previousCompleted;
+    }
+
+    private void schedule(int processId, int arrivalTime, int burstTime, ByteBuffer output) throws IOException {
+        if (arrivalTime < previousArrival) {
+            throw new IOException("Trace is not sorted by arrival time at record " + processed);
+        }
+
+        int completedTime = Math.max(arrivalTime, previousCompleted) + burstTime;
+        int turnaroundTime = completedTime - arrivalTime;
+
+        output.putInt(processId);
+        output.putInt(arrivalTime);
+        output.putInt(burstTime);
+        output.putInt(completedTime);
+        output.putInt(turnaroundTime);
+        output.putInt(turnaroundTime - burstTime);
+
+        if (statistics != null) {
+            statistics.record(arrivalTime, burstTime, completedTime);
+        }
+
+        previousArrival = arrivalTime;
+        previousCompleted = completedTime;
+        processed++;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * File:	TraceFile.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary trace format read and written by the streaming scheduler.
+ * <p>
+ * A trace is a header-less sequence of little-endian int records (pid, arrival, burst), sorted by arrival time.
+ * The scheduled result is a sequence of records (pid, arrival, burst, completed, turnaround, waiting).
+ */
+public class TraceFile {
+
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Size in bytes of one (pid, arrival, burst) record
+    public static final int RECORD_SIZE = 3 * Integer.BYTES;
+
+    // Size in bytes of one (pid, arrival, burst, completed, turnaround, waiting) record
+    public static final int RESULT_RECORD_SIZE = 6 * Integer.BYTES;
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private TraceFile() {
+    }
+
+    /**
+     * Writes the id, arrival and burst time of every row as a trace file.
+     * @param table Table to write, expected to be sorted by arrival time.
+     * @param path File to create or overwrite.
+     */
+    public static void write(ProcessTable table, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ORDER);
+            for (int i = 0; i < table.size(); i++) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    drain(buffer, channel);
+                }
+                buffer.putInt(table.getProcessId(i));
+                buffer.putInt(table.getArrivalTime(i));
+                buffer.putInt(table.getBurstTime(i));
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    /**
+     * Reads a trace file into a table.
+     * @param path Trace to read.
+     * @return Table with one row per record, no times computed.
+     */
+    public static ProcessTable read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ORDER);
+            ProcessTable table = new ProcessTable((int) (channel.size() / RECORD_SIZE));
+            while (buffer.remaining() >= RECORD_SIZE) {
+                table.add(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Reads a result file written by the streaming scheduler into a table.
+     * @param path Results to read.
+     * @return Table with one row per record, including the computed times.
+     */
+    public static ProcessTable readResults(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ORDER);
+            ProcessTable table = new ProcessTable((int) (channel.size() / RESULT_RECORD_SIZE));
+            while (buffer.remaining() >= RESULT_RECORD_SIZE) {
+                int row = table.add(buffer.getInt(), buffer.getInt(), buffer.getInt());
+                table.setCompletedTime(row, buffer.getInt());
+                table.setTurnaroundTime(row, buffer.getInt());
+                table.setWaitingTime(row, buffer.getInt());
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Writes everything put into the buffer so far and clears it.
+     */
+    static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
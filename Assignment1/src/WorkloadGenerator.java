@@ -0,0 +1,424 @@
+/*
+ * File:	WorkloadGenerator.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates reproducible synthetic traces, sorted by arrival time, for the schedulers.
+ * <p>
+ * Arrivals are Poisson, bursty (a two-state Markov-modulated Poisson process switching between a normal
+ * and a burst rate) or diurnal (a Poisson process whose rate follows a sine wave). Burst times are
+ * exponential, Pareto or bimodal. Times are rounded down to whole time units, bursts up to at least 1.
+ * <p>
+ * The jobs are generated in chunks of CHUNK_JOBS, each with its own SplittableRandom seeded from the
+ * generator seed, so the trace only depends on the seed and not on the pool. Generation takes two
+ * parallel passes, as MaxPlusScan does: the first adds up the time spanned by every chunk, the arrival
+ * time entering every chunk is then summed in order, and the second pass draws every chunk again from
+ * the same seed and writes its jobs. A bursty chunk starts in a state drawn from the stationary
+ * distribution instead of the state the previous chunk ended in.
+ */
+public class WorkloadGenerator {
+
+    public enum Arrivals {
+        POISSON, BURSTY, DIURNAL
+    }
+
+    public enum Bursts {
+        EXPONENTIAL, PARETO, BIMODAL
+    }
+
+    // Jobs drawn from one random stream, fixed so that the trace does not depend on the parallelism
+    static final int CHUNK_JOBS = 1 << 16;
+
+    private final long seed;
+
+    private Arrivals arrivals = Arrivals.POISSON;
+    private double meanInterarrival = 10;
+    private double burstRateFactor;
+    private double meanNormalTime;
+    private double meanBurstTime;
+    private double period;
+    private double amplitude;
+
+    private Bursts bursts = Bursts.EXPONENTIAL;
+    private double meanBurst = 10;
+    private double paretoShape;
+    private double shortMean;
+    private double longMean;
+    private double longFraction;
+
+    /**
+     * Poisson arrivals 10 time units apart on average and exponential bursts of 10 on average, until set.
+     */
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Arrivals at a constant rate.
+     * @param meanInterarrival Mean time between two arrivals.
+     * @return This generator.
+     */
+    public WorkloadGenerator setPoisson(double meanInterarrival) {
+        this.meanInterarrival = checkPositive(meanInterarrival, "Mean inter-arrival time");
+        arrivals = Arrivals.POISSON;
+        return this;
+    }
+
+    /**
+     * Arrivals alternating between a normal rate and a burst rate burstRateFactor times higher, staying in
+     * each state for an exponential time.
+     * @param meanInterarrival Mean time between two arrivals at the normal rate.
+     * @param meanNormalTime Mean time spent at the normal rate.
+     * @param meanBurstTime Mean time spent at the burst rate.
+     * @return This generator.
+     */
+    public WorkloadGenerator setBursty(double meanInterarrival, double burstRateFactor, double meanNormalTime,
+                                      double meanBurstTime) {
+        this.meanInterarrival = checkPositive(meanInterarrival, "Mean inter-arrival time");
+        this.burstRateFactor = checkPositive(burstRateFactor, "Burst rate factor");
+        this.meanNormalTime = checkPositive(meanNormalTime, "Mean normal time");
+        this.meanBurstTime = checkPositive(meanBurstTime, "Mean burst time");
+        arrivals = Arrivals.BURSTY;
+        return this;
+    }
+
+    /**
+     * Arrivals at the rate (1 + amplitude * sin(2 pi t / period)) / meanInterarrival.
+     * @param amplitude Relative swing of the rate, at least 0 and below 1.
+     * @return This generator.
+     */
+    public WorkloadGenerator setDiurnal(double meanInterarrival, double period, double amplitude) {
+        if (amplitude < 0 || amplitude >= 1) {
+            throw new IllegalArgumentException("Amplitude must be in [0, 1): " + amplitude);
+        }
+        this.meanInterarrival = checkPositive(meanInterarrival, "Mean inter-arrival time");
+        this.period = checkPositive(period, "Period");
+        this.amplitude = amplitude;
+        arrivals = Arrivals.DIURNAL;
+        return this;
+    }
+
+    public WorkloadGenerator setExponentialBursts(double mean) {
+        meanBurst = checkPositive(mean, "Mean burst");
+        bursts = Bursts.EXPONENTIAL;
+        return this;
+    }
+
+    /**
+     * Heavy-tailed bursts, the smaller the shape the heavier the tail.
+     * @param shape Pareto shape, above 1 for the mean to exist.
+     * @return This generator.
+     */
+    public WorkloadGenerator setParetoBursts(double mean, double shape) {
+        if (shape <= 1) {
+            throw new IllegalArgumentException("Pareto shape must be above 1: " + shape);
+        }
+        meanBurst = checkPositive(mean, "Mean burst");
+        paretoShape = shape;
+        bursts = Bursts.PARETO;
+        return this;
+    }
+
+    /**
+     * A mix of short and long jobs, each exponential around its own mean.
+     * @param longFraction Fraction of long jobs, between 0 and 1.
+     * @return This generator.
+     */
+    public WorkloadGenerator setBimodalBursts(double shortMean, double longMean, double longFraction) {
+        if (longFraction < 0 || longFraction > 1) {
+            throw new IllegalArgumentException("Fraction of long jobs must be in [0, 1]: " + longFraction);
+        }
+        this.shortMean = checkPositive(shortMean, "Short mean burst");
+        this.longMean = checkPositive(longMean, "Long mean burst");
+        this.longFraction = longFraction;
+        bursts = Bursts.BIMODAL;
+        return this;
+    }
+
+    public Arrivals getArrivals() {
+        return arrivals;
+    }
+
+    public Bursts getBursts() {
+        return bursts;
+    }
+
+    /**
+     * Same as generate(jobs, pool) on the common pool.
+     */
+    public ProcessTable generate(int jobs) {
+        return generate(jobs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates a trace into a table, ready for a scheduler.
+     * @param jobs Number of jobs, with ids 1 to jobs.
+     * @param pool Pool generating the chunks.
+     * @return Table sorted by arrival time.
+     */
+    public ProcessTable generate(int jobs, ForkJoinPool pool) {
+        ProcessTable table = new ProcessTable(jobs);
+        double[] chunkStart = chunkStarts(jobs, pool);
+        int[] chunkFloor = chunkFloors(chunkStart);
+        if (jobs > 0) {
+            pool.invoke(new MaxPlusScan.ChunkTask(0, chunkStart.length - 1, c ->
+                    generateChunk(c, jobs, chunkStart[c], chunkFloor, (row, arrival, burst) -> {
+                        table.processId[row] = row + 1;
+                        table.arrivalTime[row] = arrival;
+                        table.burstTime[row] = burst;
+                    })));
+        }
+        table.size = jobs;
+        return table;
+    }
+
+    /**
+     * Same as write(jobs, path, pool) on the common pool.
+     */
+    public void write(int jobs, Path path) throws IOException {
+        write(jobs, path, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates a trace straight into a trace file (see TraceFile), without holding it in memory. Every
+     * chunk is written at its own position in the file.
+     * @param jobs Number of jobs, with ids 1 to jobs.
+     * @param path File to create or overwrite.
+     * @param pool Pool generating the chunks.
+     */
+    public void write(int jobs, Path path, ForkJoinPool pool) throws IOException {
+        double[] chunkStart = chunkStarts(jobs, pool);
+        int[] chunkFloor = chunkFloors(chunkStart);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (jobs == 0) {
+                return;
+            }
+            ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() ->
+                    ByteBuffer.allocateDirect(CHUNK_JOBS * TraceFile.RECORD_SIZE).order(TraceFile.ORDER));
+            pool.invoke(new MaxPlusScan.ChunkTask(0, chunkStart.length - 1, c -> {
+                ByteBuffer buffer = buffers.get();
+                buffer.clear();
+                generateChunk(c, jobs, chunkStart[c], chunkFloor, (row, arrival, burst) -> {
+                    buffer.putInt(row + 1);
+                    buffer.putInt(arrival);
+                    buffer.putInt(burst);
+                });
+                buffer.flip();
+                long position = (long) c * CHUNK_JOBS * TraceFile.RECORD_SIZE;
+                try {
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Job {
+        void accept(int row, int arrival, int burst);
+    }
+
+    /**
+     * First pass: the time, in the clock of the arrival process, at which every chunk starts, followed by
+     * the time of the last arrival.
+     */
+    private double[] chunkStarts(int jobs, ForkJoinPool pool) {
+        if (jobs < 0) {
+            throw new IllegalArgumentException("Number of jobs must not be negative: " + jobs);
+        }
+        int chunks = (int) (((long) jobs + CHUNK_JOBS - 1) / CHUNK_JOBS);
+        double[] span = new double[chunks];
+        if (chunks > 0) {
+            pool.invoke(new MaxPlusScan.ChunkTask(0, chunks, c -> {
+                ArrivalStream stream = new ArrivalStream(c);
+                double time = 0;
+                for (int i = chunkFrom(c); i < chunkTo(c, jobs); i++) {
+                    time += stream.next();
+                }
+                span[c] = time;
+            }));
+        }
+
+        double[] start = new double[chunks + 1];
+        double time = 0;
+        for (int c = 0; c < chunks; c++) {
+            start[c] = time;
+            time += span[c];
+        }
+        start[chunks] = time;
+        if (toArrivalTime(time) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(jobs + " jobs arrive over " + (long) toArrivalTime(time)
+                    + " time units, beyond an int arrival time; lower the mean inter-arrival time");
+        }
+        return start;
+    }
+
+    /**
+     * Arrival time at the start of every chunk and at the end of the last one, never decreasing.
+     */
+    private int[] chunkFloors(double[] start) {
+        int[] floor = new int[start.length];
+        int previous = 0;
+        for (int c = 0; c < start.length; c++) {
+            previous = Math.max(previous, (int) toArrivalTime(start[c]));
+            floor[c] = previous;
+        }
+        return floor;
+    }
+
+    /**
+     * Second pass: draws the jobs of a chunk again and hands them out with their arrival times.
+     * <p>
+     * The gaps are summed from 0 as in the first pass before the start is added, so the last time of a chunk
+     * is exactly the start of the next one. The diurnal times are solved numerically and may still round
+     * across an integer out of order, so the arrivals are also kept between the floors of the chunk and of
+     * the next one, which keeps the whole trace sorted.
+     */
+    private void generateChunk(int c, int jobs, double start, int[] floor, Job job) {
+        ArrivalStream stream = new ArrivalStream(c);
+        double gaps = 0;
+        int previous = floor[c];
+        for (int row = chunkFrom(c); row < chunkTo(c, jobs); row++) {
+            gaps += stream.next();
+            int arrival = (int) toArrivalTime(start + gaps);
+            previous = Math.min(floor[c + 1], Math.max(previous, arrival));
+            job.accept(row, previous, stream.nextBurst());
+        }
+    }
+
+    private static int chunkFrom(int c) {
+        return c * CHUNK_JOBS;
+    }
+
+    private static int chunkTo(int c, int jobs) {
+        return (int) Math.min((long) (c + 1) * CHUNK_JOBS, jobs);
+    }
+
+    /**
+     * The Poisson and bursty arrivals are drawn in real time. The diurnal ones are drawn as a unit-rate
+     * Poisson process in operational time u = Lambda(t), the integral of the rate, and mapped back here.
+     */
+    private double toArrivalTime(double time) {
+        if (arrivals != Arrivals.DIURNAL) {
+            return time;
+        }
+        // Lambda(t) = (t + amplitude * period / 2pi * (1 - cos(2pi t / period))) / meanInterarrival lies
+        // between t / meanInterarrival and (t + amplitude * period / pi) / meanInterarrival.
+        double omega = 2 * Math.PI / period;
+        double high = time * meanInterarrival;
+        double low = Math.max(0, high - amplitude * period / Math.PI);
+        double t = (low + high) / 2;
+        for (int i = 0; i < 100; i++) {
+            double value = (t + amplitude / omega * (1 - Math.cos(omega * t))) / meanInterarrival - time;
+            if (value > 0) {
+                high = t;
+            } else {
+                low = t;
+            }
+            // Newton step, bisection when it leaves the bracket.
+            double next = t - value * meanInterarrival / (1 + amplitude * Math.sin(omega * t));
+            if (next <= low || next >= high) {
+                next = (low + high) / 2;
+            }
+            if (Math.abs(next - t) < 1e-6) {
+                return next;
+            }
+            t = next;
+        }
+        return t;
+    }
+
+    /**
+     * Random streams of one chunk, the same in both passes.
+     */
+    private class ArrivalStream {
+        private final SplittableRandom arrivalRandom;
+        private final SplittableRandom burstRandom;
+
+        // State of the bursty arrivals
+        private boolean inBurst;
+
+        ArrivalStream(int chunk) {
+            arrivalRandom = new SplittableRandom(chunkSeed(chunk));
+            burstRandom = arrivalRandom.split();
+            if (arrivals == Arrivals.BURSTY) {
+                inBurst = arrivalRandom.nextDouble() < meanBurstTime / (meanNormalTime + meanBurstTime);
+            }
+        }
+
+        /**
+         * @return Time to the next arrival.
+         */
+        double next() {
+            if (arrivals != Arrivals.BURSTY) {
+                // Diurnal arrivals are unit-rate in operational time, scaled by the mean in toArrivalTime().
+                return exponential(arrivalRandom) * (arrivals == Arrivals.POISSON ? meanInterarrival : 1);
+            }
+            double gap = 0;
+            while (true) {
+                double rate = (inBurst ? burstRateFactor : 1) / meanInterarrival;
+                double switchRate = 1 / (inBurst ? meanBurstTime : meanNormalTime);
+                gap += exponential(arrivalRandom) / (rate + switchRate);
+                if (arrivalRandom.nextDouble() * (rate + switchRate) < rate) {
+                    return gap;
+                }
+                inBurst = !inBurst;
+            }
+        }
+
+        int nextBurst() {
+            double burst;
+            switch (bursts) {
+                case PARETO:
+                    double scale = meanBurst * (paretoShape - 1) / paretoShape;
+                    burst = scale / Math.pow(1 - burstRandom.nextDouble(), 1 / paretoShape);
+                    break;
+                case BIMODAL:
+                    double mean = burstRandom.nextDouble() < longFraction ? longMean : shortMean;
+                    burst = exponential(burstRandom) * mean;
+                    break;
+                default:
+                    burst = exponential(burstRandom) * meanBurst;
+            }
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(burst)));
+        }
+    }
+
+    /**
+     * Seed of a chunk, mixed so that neighbouring chunks get unrelated streams.
+     */
+    private long chunkSeed(int chunk) {
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double exponential(SplittableRandom random) {
+        return -Math.log(1 - random.nextDouble());
+    }
+
+    private static double checkPositive(double value, String name) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * File:	AcquisitionStrategy.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.List;
+
+/**
+ * How a hungry philosopher gets hold of both its chopsticks.
+ * <p>
+ * One strategy is shared by all the philosophers of a table, so it can keep state about the whole table.
+ * acquire() returns once the philosopher holds the locks of both its chopsticks, and release() puts them
+ * down again. Strategies other than SpinAcquisition block the waiting thread instead of spinning, so a
+ * hungry philosopher uses next to no CPU.
+ */
+public interface AcquisitionStrategy {
+
+    /**
+     * Called once by DiningPhilosopher.initialize() before the philosophers start.
+     * @param philosophers Philosophers around the table, philosopher i at index i.
+     * @param chopsticks Chopsticks on the table, chopstick i at index i.
+     */
+    default void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+    }
+
+    /**
+     * Waits until the philosopher holds the locks of both its chopsticks.
+     * @throws InterruptedException If the thread is interrupted while waiting, holding no chopstick.
+     */
+    void acquire(Philosopher philosopher) throws InterruptedException;
+
+    /**
+     * Puts down both chopsticks of a philosopher that has eaten.
+     */
+    void release(Philosopher philosopher);
+}
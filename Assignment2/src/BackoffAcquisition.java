@@ -0,0 +1,70 @@
+/*
+ * File:	BackoffAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tries both chopsticks like SpinAcquisition, but sleeps after every failed attempt. The sleep is drawn at
+ * random up to a bound that doubles with every failure, so neighbours that collide once do not collide
+ * again in lockstep.
+ */
+public class BackoffAcquisition implements AcquisitionStrategy {
+
+    private final long minBackoff;
+    private final long maxBackoff;
+
+    public BackoffAcquisition() {
+        this(TimeUnit.MICROSECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    /**
+     * @param minBackoff Bound of the sleep after the first failure, in nanoseconds.
+     * @param maxBackoff Largest bound of the sleep, in nanoseconds.
+     */
+    public BackoffAcquisition(long minBackoff, long maxBackoff) {
+        if (minBackoff <= 0 || maxBackoff < minBackoff) {
+            throw new IllegalArgumentException("Invalid backoff: " + minBackoff + " to " + maxBackoff);
+        }
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        Chopstick left = philosopher.getLeftChopstick();
+        Chopstick right = philosopher.getRightChopstick();
+        ContentionCounters contention = philosopher.getContention();
+
+        long backoff = minBackoff;
+        while (true) {
+            if (left.getLock().tryLock()) {
+                if (right.getLock().tryLock()) {
+                    return;
+                }
+                contention.failed(ContentionCounters.RIGHT);
+                left.getLock().unlock();
+                contention.rollback(ContentionCounters.LEFT);
+            } else {
+                contention.failed(ContentionCounters.LEFT);
+            }
+
+            LockSupport.parkNanos(this, ThreadLocalRandom.current().nextLong(backoff) + 1);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            backoff = Math.min(backoff * 2, maxBackoff);
+        }
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+    }
+}
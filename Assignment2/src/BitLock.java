@@ -0,0 +1,243 @@
+/*
+ * File:	BitLock.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock view of one chopstick of a ChopstickTable.
+ * <p>
+ * Not reentrant. The table records the thread that took the chopstick, which getOwner() reports as
+ * OwnedLock does, but any thread may unlock a taken chopstick. Blocking calls spin briefly and then park
+ * for a growing time between attempts, since there is no queue of waiting threads to wake.
+ * <p>
+ * Conditions keep their own queue of parked threads. Only the owner may await or signal, and an awaiting
+ * thread puts the chopstick back until it is signalled and has taken the chopstick again.
+ */
+public class BitLock implements Lock {
+
+    private static final int SPINS = 64;
+    private static final long MAX_PARK = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ChopstickTable table;
+    private final int id;
+
+    BitLock(ChopstickTable table, int id) {
+        this.table = table;
+        this.id = id;
+    }
+
+    public ChopstickTable getTable() {
+        return table;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return Thread holding the chopstick, or null if it is free. May already be out of date.
+     */
+    public Thread getOwner() {
+        return table.getOwner(id);
+    }
+
+    @Override
+    public boolean tryLock() {
+        return table.tryTake(id);
+    }
+
+    @Override
+    public void lock() {
+        boolean interrupted = false;
+        for (int attempt = 0; !table.tryTake(id); attempt++) {
+            pause(attempt);
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        for (int attempt = 0; !table.tryTake(id); attempt++) {
+            pause(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(time);
+        for (int attempt = 0; !table.tryTake(id); attempt++) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            pause(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void unlock() {
+        table.put(id);
+    }
+
+    @Override
+    public Condition newCondition() {
+        return new BitCondition();
+    }
+
+    /**
+     * Waits between two failed attempts, spinning first and then parking for up to MAX_PARK.
+     */
+    static void pause(int attempt) {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(Math.min(MAX_PARK, 1000L << Math.min(attempt - SPINS, 10)));
+        }
+    }
+
+    /**
+     * Condition of a BitLock. A waiter is woken by setting its flag, which a waiter giving up on a timeout
+     * or an interrupt also tries to set, so a signal is never spent on a thread that has stopped waiting.
+     */
+    private class BitCondition implements Condition {
+
+        private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void await() throws InterruptedException {
+            awaitSignal(true, false, 0);
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            try {
+                awaitSignal(false, false, 0);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e); // Not thrown when uninterruptible.
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanos) throws InterruptedException {
+            return awaitSignal(true, true, nanos);
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            return awaitSignal(true, true, unit.toNanos(time)) > 0;
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            return await(deadline.getTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void signal() {
+            checkOwner();
+            for (Waiter waiter; (waiter = waiters.poll()) != null; ) {
+                if (waiter.compareAndSet(false, true)) {
+                    LockSupport.unpark(waiter.thread);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            checkOwner();
+            for (Waiter waiter; (waiter = waiters.poll()) != null; ) {
+                if (waiter.compareAndSet(false, true)) {
+                    LockSupport.unpark(waiter.thread);
+                }
+            }
+        }
+
+        /**
+         * Puts the chopstick back, waits until signalled, interrupted (if interruptible) or out of time (if
+         * timed), and takes the chopstick again before returning or throwing.
+         * @return Nanoseconds left of the time when signalled, at least 1, or at most 0 when it ran out.
+         */
+        private long awaitSignal(boolean interruptible, boolean timed, long nanos) throws InterruptedException {
+            checkOwner();
+            if (interruptible && Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long deadline = System.nanoTime() + nanos;
+            Waiter waiter = new Waiter();
+            waiters.add(waiter);
+            unlock();
+
+            boolean interrupted = false;
+            boolean cancelled = false;
+            while (!waiter.get()) {
+                if (timed) {
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) {
+                        cancelled = waiter.compareAndSet(false, true);
+                        break;
+                    }
+                    LockSupport.parkNanos(this, left);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    interrupted = true;
+                    if (interruptible) {
+                        cancelled = waiter.compareAndSet(false, true);
+                        break;
+                    }
+                }
+            }
+            if (cancelled) {
+                waiters.remove(waiter);
+            }
+
+            lock();
+            // lock() keeps an interrupt that came while taking the chopstick again.
+            interrupted |= Thread.interrupted();
+            if (interrupted && interruptible && cancelled) {
+                throw new InterruptedException();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            long left = deadline - System.nanoTime();
+            return cancelled ? Math.min(left, 0) : Math.max(left, 1);
+        }
+
+        private void checkOwner() {
+            if (getOwner() != Thread.currentThread()) {
+                throw new IllegalMonitorStateException("Chopstick " + id + " is not held by the current thread");
+            }
+        }
+    }
+
+    /**
+     * A thread waiting on a condition, set once it is signalled or has given up.
+     */
+    private static class Waiter extends AtomicBoolean {
+        private static final long serialVersionUID = 1L;
+
+        final transient Thread thread = Thread.currentThread();
+    }
+}
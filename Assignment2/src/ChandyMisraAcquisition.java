@@ -0,0 +1,121 @@
+/*
+ * File:	ChandyMisraAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The Chandy-Misra solution, with the forks (chopsticks) passed through shared state instead of messages.
+ * <p>
+ * Every fork has an owner and is clean or dirty. At the start each fork is dirty and owned by the
+ * neighbour with the lower id. A hungry philosopher takes a fork from its neighbour only if the fork is
+ * dirty, and the fork becomes clean on the way. A philosopher owning both forks eats, which keeps them clean
+ * until the meal is over, and then both become dirty. A philosopher who has just eaten therefore gives way
+ * to a hungry neighbour, which rules out both deadlock and starvation.
+ * <p>
+ * The state is guarded by one lock that is only held to move forks, and every philosopher waits on its
+ * own condition, which is signalled when a neighbour's meal makes one of its forks dirty. Once it owns both
+ * forks the philosopher takes the chopstick locks, which nobody else can want at that time.
+ */
+public class ChandyMisraAcquisition implements AcquisitionStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Chopstick id -> owner id and whether the chopstick has been used since it was handed over
+    private int[] owner;
+    private boolean[] dirty;
+
+    // Philosopher id -> condition signalled when one of its chopsticks gets dirty
+    private Condition[] forkDirty;
+
+    private List<Philosopher> philosophers;
+
+    @Override
+    public void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+        this.philosophers = philosophers;
+        int n = chopsticks.size();
+        owner = new int[n];
+        dirty = new boolean[n];
+        forkDirty = new Condition[philosophers.size()];
+
+        Arrays.fill(owner, Integer.MAX_VALUE);
+        Arrays.fill(dirty, true);
+        for (Philosopher p : philosophers) {
+            forkDirty[p.getId()] = lock.newCondition();
+            for (Chopstick c : new Chopstick[]{p.getLeftChopstick(), p.getRightChopstick()}) {
+                owner[c.getId()] = Math.min(owner[c.getId()], p.getId());
+            }
+        }
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        int id = philosopher.getId();
+        int left = philosopher.getLeftChopstick().getId();
+        int right = philosopher.getRightChopstick().getId();
+
+        lock.lockInterruptibly();
+        try {
+            // Not &&, both chopsticks are requested every time.
+            while (!(request(id, left) & request(id, right))) {
+                ContentionCounters contention = philosopher.getContention();
+                contention.failed(owner[left] == id ? ContentionCounters.RIGHT : ContentionCounters.LEFT);
+                forkDirty[id].await();
+            }
+            // Clean while eating, so the neighbours wait for the end of the meal.
+            dirty[left] = false;
+            dirty[right] = false;
+        } finally {
+            lock.unlock();
+        }
+
+        philosopher.getLeftChopstick().getLock().lock();
+        philosopher.getRightChopstick().getLock().lock();
+    }
+
+    /**
+     * Takes a chopstick from its owner if it is dirty.
+     * @return Whether the philosopher owns the chopstick.
+     */
+    private boolean request(int id, int chopstick) {
+        if (owner[chopstick] != id && dirty[chopstick]) {
+            owner[chopstick] = id;
+            dirty[chopstick] = false;
+        }
+        return owner[chopstick] == id;
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+
+        lock.lock();
+        try {
+            for (Chopstick c : new Chopstick[]{philosopher.getLeftChopstick(), philosopher.getRightChopstick()}) {
+                dirty[c.getId()] = true;
+                signalNeighbour(philosopher, c);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wakes the other philosopher sharing a chopstick.
+     */
+    private void signalNeighbour(Philosopher philosopher, Chopstick chopstick) {
+        int n = philosophers.size();
+        for (int other : new int[]{chopstick.getId(), (chopstick.getId() - 1 + n) % n}) {
+            if (other != philosopher.getId()) {
+                forkDirty[other].signal();
+            }
+        }
+    }
+}
@@ -7,14 +7,28 @@
  */
 
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class Chopstick {
 	private final int id;
-	private Lock myLock = new ReentrantLock();
+	private final Lock myLock;
+
+	// Times the chopstick has been picked up, only counted while the run is recorded
+	private int pickUps = 0;
+
+	// Time at which the chopstick was last put down after a meal, on the timeline of the table
+	private volatile long putDownAt = 0;
 	
 	public Chopstick(int id) {
+		this(id, new OwnedLock());
+	}
+
+	/*
+	 * Chopstick guarded by the given lock instead of its own ReentrantLock,
+	 * for example a bit of a ChopstickTable.
+	 */
+	public Chopstick(int id, Lock lock) {
 		this.id = id;
+		this.myLock = lock;
 	}
 	
 	public int getId() {
@@ -24,6 +38,37 @@ public class Chopstick {
 	public Lock getLock() {
 		return myLock;
 	}
+
+	/*
+	 * Returns the thread holding the chopstick, or null if it is free or its lock does not tell.
+	 * Does not take the lock, the answer may already be out of date.
+	 */
+	public Thread getOwner() {
+		if (myLock instanceof OwnedLock) {
+			return ((OwnedLock) myLock).getOwner();
+		}
+		return myLock instanceof BitLock ? ((BitLock) myLock).getOwner() : null;
+	}
+	
+	/*
+	 * Counts a pick-up and returns its number, starting at 1. Only called by the philosopher holding the
+	 * chopstick, so the lock orders the counts of consecutive holders.
+	 */
+	int pickedUp() {
+		return ++pickUps;
+	}
+	
+	/*
+	 * Returns the time on the timeline of the table, in milliseconds, at which the last meal with this
+	 * chopstick ended. See Philosopher.setTimeline().
+	 */
+	long getPutDownAt() {
+		return putDownAt;
+	}
+
+	void setPutDownAt(long putDownAt) {
+		this.putDownAt = putDownAt;
+	}
 	
 	/* TODO
 	 * Implement the pickup and put down chopstick logic in the Philosopher.run() method.
@@ -0,0 +1,145 @@
+/*
+ * File:	ChopstickTable.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * The chopsticks of a table as one bit each in an array of longs, set while the chopstick is in use.
+ * <p>
+ * A chopstick is taken with a compare-and-set of its word instead of a lock object. Two chopsticks in the
+ * same word, which is the case for the two chopsticks of every philosopher except one in 64, are taken
+ * together with a single compare-and-set, so a philosopher never has to put one back because the other
+ * was taken. lock(id) gives a Lock view of one bit, so the table can back the chopsticks of
+ * DiningPhilosopher without changes to Philosopher.
+ * <p>
+ * The thread that took a chopstick is recorded next to the bits, after the compare-and-set, and cleared
+ * before the bit, so the Watchdog can build its wait-for graph for a lock-free table too. Like the owner of
+ * an OwnedLock it is read without synchronization and may be out of date.
+ */
+public class ChopstickTable {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle OWNERS = MethodHandles.arrayElementVarHandle(Thread[].class);
+
+    private final long[] words;
+    private final int size;
+
+    // Thread holding each chopstick, null while it is free
+    private final Thread[] owners;
+
+    public ChopstickTable(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+        this.owners = new Thread[size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Lock view of the chopstick, created on every call.
+     */
+    public Lock lock(int id) {
+        checkId(id);
+        return new BitLock(this, id);
+    }
+
+    /**
+     * Takes a chopstick if it is free.
+     * @return Whether the chopstick was taken.
+     */
+    public boolean tryTake(int id) {
+        if (!tryTake(id >>> 6, 1L << id)) {
+            return false;
+        }
+        OWNERS.setRelease(owners, id, Thread.currentThread());
+        return true;
+    }
+
+    /**
+     * Takes two chopsticks at once if both are free and share a word.
+     * @return Whether the chopsticks were taken, always false for chopsticks in different words.
+     */
+    public boolean tryTakeBoth(int a, int b) {
+        if (!sameWord(a, b) || !tryTake(a >>> 6, (1L << a) | (1L << b))) {
+            return false;
+        }
+        OWNERS.setRelease(owners, a, Thread.currentThread());
+        OWNERS.setRelease(owners, b, Thread.currentThread());
+        return true;
+    }
+
+    /**
+     * Takes the bits of the mask if all of them are clear. Retries only when other bits of the word changed.
+     */
+    private boolean tryTake(int word, long mask) {
+        long current = (long) WORDS.getVolatile(words, word);
+        while ((current & mask) == 0) {
+            long witness = (long) WORDS.compareAndExchange(words, word, current, current | mask);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    /**
+     * Puts a chopstick back.
+     * @throws IllegalMonitorStateException If the chopstick was not taken.
+     */
+    public void put(int id) {
+        OWNERS.setRelease(owners, id, null);
+        put(id >>> 6, 1L << id);
+    }
+
+    /**
+     * Puts two chopsticks back, with one atomic update if they share a word.
+     * @throws IllegalMonitorStateException If one of the chopsticks was not taken.
+     */
+    public void putBoth(int a, int b) {
+        if (sameWord(a, b)) {
+            OWNERS.setRelease(owners, a, null);
+            OWNERS.setRelease(owners, b, null);
+            put(a >>> 6, (1L << a) | (1L << b));
+        } else {
+            put(b);
+            put(a);
+        }
+    }
+
+    private void put(int word, long mask) {
+        long previous = (long) WORDS.getAndBitwiseAndRelease(words, word, ~mask);
+        if ((previous & mask) != mask) {
+            throw new IllegalMonitorStateException("Chopstick put back without being taken");
+        }
+    }
+
+    public boolean isTaken(int id) {
+        return ((long) WORDS.getVolatile(words, id >>> 6) & (1L << id)) != 0;
+    }
+
+    /**
+     * @return Thread that took the chopstick, null if it is free or has only just been taken.
+     */
+    public Thread getOwner(int id) {
+        return (Thread) OWNERS.getAcquire(owners, id);
+    }
+
+    public static boolean sameWord(int a, int b) {
+        return (a >>> 6) == (b >>> 6);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Chopstick " + id + " of " + size);
+        }
+    }
+}
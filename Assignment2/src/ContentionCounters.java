@@ -0,0 +1,92 @@
+/*
+ * File:	ContentionCounters.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * Contention seen by one philosopher on its two chopsticks.
+ * <p>
+ * Only the philosopher's own thread updates the counters, with plain increments, so counting a failed attempt
+ * costs as much as a local variable and no cache line is shared with the other philosophers. The counters of
+ * the table are added up by ContentionProfile once the philosophers have stopped.
+ */
+public class ContentionCounters {
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+
+    private long acquisitions;
+    // Attempts that found the left or right chopstick taken
+    private final long[] failed = new long[2];
+    // Chopsticks put back because the other one was taken
+    private final long[] rollbacks = new long[2];
+    private long holdNanos;
+    private long maxHoldNanos;
+
+    private long acquiredAt;
+
+    /**
+     * An attempt found a chopstick taken.
+     * @param side LEFT or RIGHT.
+     */
+    public void failed(int side) {
+        failed[side]++;
+    }
+
+    /**
+     * A chopstick was put back without eating because the other one was taken.
+     * @param side LEFT or RIGHT.
+     */
+    public void rollback(int side) {
+        rollbacks[side]++;
+    }
+
+    /**
+     * Both chopsticks are held from now on.
+     */
+    void acquired(long nanoTime) {
+        acquisitions++;
+        acquiredAt = nanoTime;
+    }
+
+    /**
+     * Both chopsticks were put down.
+     */
+    void released(long nanoTime) {
+        long hold = nanoTime - acquiredAt;
+        holdNanos += hold;
+        maxHoldNanos = Math.max(maxHoldNanos, hold);
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public long getFailed(int side) {
+        return failed[side];
+    }
+
+    public long getRollbacks(int side) {
+        return rollbacks[side];
+    }
+
+    public long getHoldNanos() {
+        return holdNanos;
+    }
+
+    public long getMaxHoldNanos() {
+        return maxHoldNanos;
+    }
+
+    /**
+     * @return Attempts to take both chopsticks per successful one, 1 without contention.
+     */
+    public double getAttemptsPerMeal() {
+        if (acquisitions == 0) {
+            return 0;
+        }
+        return (double) (acquisitions + failed[LEFT] + failed[RIGHT]) / acquisitions;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * File:	ContentionProfile.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Contention of a table per chopstick, added up from the ContentionCounters of the philosophers sharing
+ * each chopstick, and the attempts per meal of every philosopher.
+ * <p>
+ * Seat i is philosopher i with its right chopstick i, so the rows of the table and of the CSV go around
+ * the ring and can be plotted as a heatmap of the table.
+ */
+public class ContentionProfile {
+
+    private final int size;
+
+    // Chopstick id ->
+    private final long[] acquisitions;
+    private final long[] failed;
+    private final long[] rollbacks;
+    private final long[] holdNanos;
+    private final long[] maxHoldNanos;
+
+    // Philosopher id ->
+    private final double[] attemptsPerMeal;
+
+    /**
+     * Adds up the counters of stopped philosophers.
+     */
+    public static ContentionProfile of(List<Philosopher> philosophers) {
+        ContentionProfile profile = new ContentionProfile(philosophers.size());
+        for (Philosopher p : philosophers) {
+            ContentionCounters counters = p.getContention();
+            profile.add(p.getLeftChopstick().getId(), counters, ContentionCounters.LEFT);
+            profile.add(p.getRightChopstick().getId(), counters, ContentionCounters.RIGHT);
+            profile.attemptsPerMeal[p.getId()] = counters.getAttemptsPerMeal();
+        }
+        return profile;
+    }
+
+    private ContentionProfile(int size) {
+        this.size = size;
+        acquisitions = new long[size];
+        failed = new long[size];
+        rollbacks = new long[size];
+        holdNanos = new long[size];
+        maxHoldNanos = new long[size];
+        attemptsPerMeal = new double[size];
+    }
+
+    private void add(int chopstick, ContentionCounters counters, int side) {
+        acquisitions[chopstick] += counters.getAcquisitions();
+        failed[chopstick] += counters.getFailed(side);
+        rollbacks[chopstick] += counters.getRollbacks(side);
+        holdNanos[chopstick] += counters.getHoldNanos();
+        maxHoldNanos[chopstick] = Math.max(maxHoldNanos[chopstick], counters.getMaxHoldNanos());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getAcquisitions(int chopstick) {
+        return acquisitions[chopstick];
+    }
+
+    public long getFailed(int chopstick) {
+        return failed[chopstick];
+    }
+
+    public long getRollbacks(int chopstick) {
+        return rollbacks[chopstick];
+    }
+
+    public long getHoldNanos(int chopstick) {
+        return holdNanos[chopstick];
+    }
+
+    public long getMaxHoldNanos(int chopstick) {
+        return maxHoldNanos[chopstick];
+    }
+
+    public double getAttemptsPerMeal(int philosopher) {
+        return attemptsPerMeal[philosopher];
+    }
+
+    /*
+     * Prints one row per seat: chopstick id (CID), acquisitions (#ACQ), failed attempts (#FAIL),
+     * rollbacks (#RB), total and maximum hold time in milliseconds (HOLD, MAX HOLD), and the attempts per meal
+     * of the philosopher on the seat (APM).
+     */
+    public void print() {
+        DecimalFormat df2 = new DecimalFormat("0.##");
+        System.out.println("\n---------------------------------------------------");
+        System.out.println("CID \t#ACQ \t#FAIL \t\t#RB \t\tHOLD \t\tMAX HOLD \tAPM");
+        for (int i = 0; i < size; i++) {
+            System.out.println(i + "\t\t"
+                    + acquisitions[i] + "\t\t"
+                    + failed[i] + "\t\t"
+                    + rollbacks[i] + "\t\t"
+                    + df2.format(holdNanos[i] / 1e6) + "\t\t"
+                    + df2.format(maxHoldNanos[i] / 1e6) + "\t\t"
+                    + df2.format(attemptsPerMeal[i]));
+        }
+        System.out.println("---------------------------------------------------\n");
+    }
+
+    /**
+     * Writes the profile as CSV with a header and one row per seat, in ring order.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            out.write("seat,acquisitions,failed,rollbacks,hold_ms,max_hold_ms,failed_per_acquisition,attempts_per_meal");
+            out.newLine();
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                line.setLength(0);
+                line.append(i).append(',')
+                        .append(acquisitions[i]).append(',')
+                        .append(failed[i]).append(',')
+                        .append(rollbacks[i]).append(',')
+                        .append(holdNanos[i] / 1e6).append(',')
+                        .append(maxHoldNanos[i] / 1e6).append(',')
+                        .append(acquisitions[i] == 0 ? 0 : (double) failed[i] / acquisitions[i]).append(',')
+                        .append(attemptsPerMeal[i]);
+                out.write(line.toString());
+                out.newLine();
+            }
+        }
+    }
+}
@@ -6,8 +6,13 @@
  * Date: 	November 2019
  */
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -23,69 +28,462 @@ public class DiningPhilosopher {
 	 */
 	public boolean DEBUG = true;
 	
-	private final int NUMBER_OF_PHILOSOPHERS = 5;
+	private int NUMBER_OF_PHILOSOPHERS = 5;
 	private int SIMULATION_TIME = 10000;
 	private int SEED = 0;
+	private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+	// Null for the default of the execution mode
+	private StartOrder startOrder = null;
+	private boolean lockFreeChopsticks = false;
+	private boolean asyncLogging = false;
+
+	// Events per philosopher buffered by the asynchronous log
+	private static final int LOG_CAPACITY = 256;
+
+	// Log of the running table, null when printing directly
+	private EventLog eventLog = null;
+
+	// Events per philosopher buffered while recording
+	private static final int RECORDING_CAPACITY = 1024;
+
+	// File the run is recorded to, null for no recording
+	private Path recordingPath = null;
+	private EventLog recording = null;
+	private EventRecorder recorder = null;
+
+	// Sampling interval and starvation threshold of the watchdog in milliseconds, 0 for no watchdog
+	private long watchdogInterval = 0;
+	private long starvationThreshold = 0;
+	private Watchdog watchdog = null;
+
+	// Delay between two philosopher launches, in milliseconds
+	private static final int LAUNCH_DELAY = 50;
+
+	private static final long NANOS_PER_MILLI = 1000000;
+
+	// How long the philosophers get to stop once interrupted, in milliseconds
+	private static final long STOP_TIMEOUT = 1000;
+
+	// Length of the last run in (real or virtual) milliseconds, for the throughput
+	private long elapsedTime = 0;
 
 	ExecutorService executorService = null;
 	ArrayList<Philosopher> philosophers = null;
 	ArrayList<Chopstick> chopsticks = null;
 
 	public void start() throws InterruptedException {
-		try {
-			/*
-			 * First we start two non-adjacent threads, which are T1 and T3
-			 */
-			for (int i = 1; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
-				executorService.execute(philosophers.get(i));
-				Thread.sleep(50); //makes sure that this thread kicks in before the next one
+		if (executionMode != ExecutionMode.VIRTUAL_TIME) {
+			// First, so that a JVM without virtual threads fails before any log or recording is opened.
+			executorService = newExecutor();
+		}
+		if (asyncLogging && DEBUG) {
+			eventLog = new EventLog(NUMBER_OF_PHILOSOPHERS, LOG_CAPACITY, new EventLog.TextSink(System.out));
+			for (Philosopher p : philosophers) {
+				p.setEventLog(eventLog);
 			}
+			eventLog.start();
+		}
 
-			/*
-			 * Now we start the rest of the threads, which are T0, T2, and T4
-			 */
-			for (int i = 0; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
-				executorService.execute(philosophers.get(i));
-				Thread.sleep(50); //makes sure that this thread kicks in before the next one
+		if (executionMode == ExecutionMode.VIRTUAL_TIME) {
+			// Reproducible from its seed alone, not recorded.
+			simulate();
+			closeEventLog();
+			return;
+		}
+
+		if (recordingPath != null) {
+			startRecording();
+		}
+
+		// Virtual threads share a few carriers, a philosopher spinning for its chopsticks must let the others run.
+		for (Philosopher p : philosophers) {
+			p.setYieldWhileWaiting(executionMode == ExecutionMode.VIRTUAL_THREADS);
+		}
+		if (watchdogInterval > 0) {
+			watchdog = new Watchdog(philosophers, watchdogInterval, starvationThreshold,
+					alert -> System.err.println("Watchdog: " + alert));
+			watchdog.start();
+		}
+		long startTime = System.currentTimeMillis();
+		try {
+			long epoch;
+			if (getStartOrder() == StartOrder.STAGGERED) {
+				epoch = System.nanoTime();
+				setTimeline(epoch);
+				launchStaggered();
+			} else {
+				epoch = launchTogether(getStartOrder() == StartOrder.ODD_EVEN);
 			}
 
-			// Main thread sleeps till time of simulation
-			Thread.sleep(SIMULATION_TIME);
+			// Main thread sleeps till the end of the simulation on the timeline of the philosophers
+			TimeUnit.NANOSECONDS.sleep(epoch + endTime() * NANOS_PER_MILLI - System.nanoTime());
 
 			if (DEBUG) {
-				System.out.println("\n>>> Asking all philosophers to stop\n");
+				logStopping();
 			}
+			if (recording != null) {
+				recording.record(NUMBER_OF_PHILOSOPHERS, EventLog.STOPPING, 0);
+			}
+		} finally {
+			stop();
+		}
+		elapsedTime = System.currentTimeMillis() - startTime;
+	}
+
+	private void launchStaggered() throws InterruptedException {
+		/*
+		 * First we start two non-adjacent threads, which are T1 and T3
+		 */
+		for (int i = 1; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+			executorService.execute(philosophers.get(i));
+			Thread.sleep(LAUNCH_DELAY); //makes sure that this thread kicks in before the next one
+		}
+
+		/*
+		 * Now we start the rest of the threads, which are T0, T2, and T4
+		 */
+		for (int i = 0; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+			executorService.execute(philosophers.get(i));
+			Thread.sleep(LAUNCH_DELAY); //makes sure that this thread kicks in before the next one
+		}
+	}
+
+	/*
+	 * Submits every philosopher behind a latch, waits until all of them are on their threads and releases
+	 * them at once, so that the launch takes the same time whatever the size of the table. With oddFirst the
+	 * even philosophers also wait until every odd philosopher has started, the order of the staggered launch
+	 * without its sleeps. Returns the System.nanoTime() of the release, time 0 of the timeline.
+	 */
+	private long launchTogether(boolean oddFirst) throws InterruptedException {
+		CountDownLatch ready = new CountDownLatch(NUMBER_OF_PHILOSOPHERS);
+		CountDownLatch go = new CountDownLatch(1);
+		CountDownLatch oddStarted = new CountDownLatch(oddFirst ? NUMBER_OF_PHILOSOPHERS / 2 : 0);
+		for (int i = 1; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+			executorService.execute(released(philosophers.get(i), true, ready, go, oddStarted));
+		}
+		for (int i = 0; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+			executorService.execute(released(philosophers.get(i), false, ready, go, oddStarted));
+		}
+		ready.await();
+		long epoch = System.nanoTime();
+		setTimeline(epoch);
+		go.countDown();
+		return epoch;
+	}
 
-			for(Philosopher p : philosophers){
-				p.shutdown();
+	/*
+	 * Puts every philosopher on a timeline starting at epoch, a System.nanoTime(), at the start times of the
+	 * virtual time simulation and with its end as the cut. See Philosopher.setTimeline().
+	 */
+	private void setTimeline(long epoch) {
+		long[] startTimes = startTimes();
+		for (Philosopher p : philosophers) {
+			p.setTimeline(epoch, startTimes[p.getId()], endTime());
+		}
+	}
+
+	/*
+	 * Counts down ready and runs the philosopher once go is open, an odd philosopher counting down oddStarted
+	 * first and an even one waiting for it.
+	 */
+	private static Runnable released(Philosopher p, boolean odd, CountDownLatch ready, CountDownLatch go,
+			CountDownLatch oddStarted) {
+		return () -> {
+			ready.countDown();
+			try {
+				go.await();
+				if (odd) {
+					oddStarted.countDown();
+				} else {
+					oddStarted.await();
+				}
+			} catch (InterruptedException e) {
+				return; // Stopped before being released.
+			}
+			p.run();
+		};
+	}
+
+	/*
+	 * Stops the philosophers and waits for them: every philosopher is interrupted wherever it is, sleeping or
+	 * waiting for a chopstick, puts down what it holds and ends its task, which takes microseconds. Once the
+	 * executor has terminated no philosopher runs any more, so the table read afterwards is one consistent
+	 * cut of the run and no thread outlives start(). The philosophers keep to the timeline of the table and
+	 * count nothing from its end on, so the cut is taken at the simulation time even if the stop comes late.
+	 * A turn cut short is counted without its time, as in the virtual time simulation.
+	 */
+	private void stop() throws InterruptedException {
+		if (watchdog != null) {
+			watchdog.stop();
+		}
+		for (Philosopher p : philosophers) {
+			p.shutdown();
+		}
+		executorService.shutdownNow();
+		try {
+			if (!executorService.awaitTermination(STOP_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				System.err.println("Philosophers still running " + STOP_TIMEOUT + " ms after being stopped");
 			}
 		} finally {
-			executorService.shutdown();
-			executorService.awaitTermination(10, TimeUnit.MILLISECONDS);
+			closeEventLog();
+			closeRecording();
+		}
+	}
+
+	private void startRecording() {
+		try {
+			recorder = new EventRecorder(recordingPath, NUMBER_OF_PHILOSOPHERS, SEED, SIMULATION_TIME);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		recording = new EventLog(NUMBER_OF_PHILOSOPHERS, RECORDING_CAPACITY, recorder);
+		for (Philosopher p : philosophers) {
+			p.setRecording(recording);
+		}
+		recording.start();
+	}
+
+	private void closeRecording() throws InterruptedException {
+		if (recording != null) {
+			try {
+				recording.close();
+				recorder.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				recording = null;
+				recorder = null;
+			}
+		}
+	}
+
+	private void logStopping() {
+		if (eventLog != null) {
+			eventLog.record(NUMBER_OF_PHILOSOPHERS, EventLog.STOPPING, 0);
+		} else {
+			System.out.println("\n>>> Asking all philosophers to stop\n");
+		}
+	}
+
+	private void closeEventLog() throws InterruptedException {
+		if (eventLog != null) {
+			eventLog.close();
+			eventLog = null;
+		}
+	}
+
+	/*
+	 * Runs the philosophers in virtual time, launched in the same order and at the same offsets as the threads.
+	 */
+	private void simulate() {
+		elapsedTime = new VirtualTimeSimulation(philosophers, startTimes(), endTime()).run();
+
+		if (DEBUG) {
+			logStopping();
+		}
+		for (Philosopher p : philosophers) {
+			p.shutdown();
+		}
+	}
+
+	/*
+	 * Time at which each philosopher starts, in milliseconds after the launch of the first one: the launch
+	 * offsets of the stagger, or 0 for everyone without it.
+	 */
+	private long[] startTimes() {
+		long[] startTimes = new long[NUMBER_OF_PHILOSOPHERS];
+		if (getStartOrder() == StartOrder.STAGGERED) {
+			long launch = 0;
+			for (int i = 1; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+				startTimes[i] = launch;
+				launch += LAUNCH_DELAY;
+			}
+			for (int i = 0; i < NUMBER_OF_PHILOSOPHERS; i+=2) {
+				startTimes[i] = launch;
+				launch += LAUNCH_DELAY;
+			}
+		}
+		return startTimes;
+	}
+
+	/*
+	 * Time at which the simulation ends, once every philosopher has been launched and the simulation time
+	 * has passed.
+	 */
+	private long endTime() {
+		return (getStartOrder() == StartOrder.STAGGERED ? (long) NUMBER_OF_PHILOSOPHERS * LAUNCH_DELAY : 0) + SIMULATION_TIME;
+	}
+
+	/*
+	 * Records every event of the next threaded run to a file, whatever DEBUG is, for EventReplay to print,
+	 * rebuild the table from, or re-drive the run with ReplayAcquisition. Null stops recording.
+	 */
+	public void setRecording(Path recordingPath) {
+		this.recordingPath = recordingPath;
+	}
+
+	/*
+	 * Same as setting DEBUG, and also applies to the philosophers of an initialized table.
+	 */
+	public void setDebug(boolean debug) {
+		DEBUG = debug;
+		if (philosophers != null) {
+			for (Philosopher p : philosophers) {
+				p.DEBUG = debug;
+			}
+		}
+	}
+
+	/*
+	 * PLATFORM_THREADS (the default) runs every philosopher on its own thread in real time.
+	 * VIRTUAL_TIME runs the same philosophers as a deterministic discrete-event simulation, which takes
+	 * milliseconds whatever the simulation time. Must be set before start().
+	 */
+	public void setExecutionMode(ExecutionMode executionMode) {
+		this.executionMode = executionMode;
+	}
+
+	public ExecutionMode getExecutionMode() {
+		return executionMode;
+	}
+
+	/*
+	 * STAGGERED launches the philosophers 50 ms apart, ODD_EVEN and SIMULTANEOUS release them through a latch
+	 * without sleeping. Null (the default) is ODD_EVEN for VIRTUAL_THREADS and STAGGERED otherwise, which the
+	 * expected values of the tests depend on. Must be set before start().
+	 */
+	public void setStartOrder(StartOrder startOrder) {
+		this.startOrder = startOrder;
+	}
+
+	public StartOrder getStartOrder() {
+		if (startOrder != null) {
+			return startOrder;
+		}
+		return executionMode == ExecutionMode.VIRTUAL_THREADS ? StartOrder.ODD_EVEN : StartOrder.STAGGERED;
+	}
+
+	/*
+	 * Sets the number of philosophers (and chopsticks) around the table. Must be set before initialize().
+	 */
+	public void setNumberOfPhilosophers(int numberOfPhilosophers) {
+		if (numberOfPhilosophers < 2) {
+			throw new IllegalArgumentException("At least two philosophers are needed: " + numberOfPhilosophers);
+		}
+		NUMBER_OF_PHILOSOPHERS = numberOfPhilosophers;
+	}
+
+	public int getNumberOfPhilosophers() {
+		return NUMBER_OF_PHILOSOPHERS;
+	}
+
+	/*
+	 * Backs the chopsticks with the bits of one ChopstickTable instead of a ReentrantLock each,
+	 * as needed by PairCasAcquisition. Must be set before initialize().
+	 */
+	public void setLockFreeChopsticks(boolean lockFreeChopsticks) {
+		this.lockFreeChopsticks = lockFreeChopsticks;
+	}
+
+	/*
+	 * With DEBUG on, the philosophers record their events in an EventLog that a background thread prints,
+	 * instead of printing them while holding their chopsticks. The lines are the same. Must be set before start().
+	 */
+	public void setAsyncLogging(boolean asyncLogging) {
+		this.asyncLogging = asyncLogging;
+	}
+
+	/*
+	 * Runs a Watchdog next to the philosopher threads, which reports deadlocks, livelocks and philosophers
+	 * hungry for longer than starvationThreshold milliseconds on System.err. Not used in VIRTUAL_TIME.
+	 * An interval of 0 (the default) runs no watchdog. Must be set before start().
+	 */
+	public void setWatchdog(long intervalMillis, long starvationThresholdMillis) {
+		watchdogInterval = intervalMillis;
+		starvationThreshold = starvationThresholdMillis;
+	}
+
+	/*
+	 * Returns the watchdog of the last start(), with the alerts it reported, or null.
+	 */
+	public Watchdog getWatchdog() {
+		return watchdog;
+	}
+
+	/*
+	 * Creates the executor running the philosophers in the current execution mode.
+	 */
+	private ExecutorService newExecutor() {
+		if (executionMode == ExecutionMode.VIRTUAL_THREADS) {
+			ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+			if (virtualThreads == null) {
+				throw new IllegalStateException("VIRTUAL_THREADS needs a JVM with virtual threads (Java 21 or newer), "
+						+ "this is Java " + Runtime.version().feature() + ". Use PLATFORM_THREADS instead.");
+			}
+			return virtualThreads;
+		}
+		return Executors.newFixedThreadPool(NUMBER_OF_PHILOSOPHERS);
+	}
+
+	/*
+	 * Executors.newVirtualThreadPerTaskExecutor() is looked up at run time so that the code still compiles
+	 * and runs on JVMs older than 21.
+	 * Returns null when virtual threads are not available.
+	 */
+	static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			return null; // Missing, or a preview feature that is not enabled.
 		}
 	}
 
+	/*
+	 * Returns the meals started per second over the last run, in real time for the threaded modes
+	 * and in virtual time for VIRTUAL_TIME.
+	 */
+	public double getMealsPerSecond() {
+		if (elapsedTime == 0) {
+			return 0;
+		}
+		long meals = 0;
+		for (Philosopher p : philosophers) {
+			meals += p.getNumberOfEatingTurns();
+		}
+		return meals * 1000.0 / elapsedTime;
+	}
+
 	public void initialize(int simulationTime, int randomSeed) {
+		initialize(simulationTime, randomSeed, new SpinAcquisition());
+	}
+
+	/*
+	 * Like initialize(simulationTime, randomSeed), with the strategy the philosophers use to pick up their
+	 * chopsticks, for example new ChandyMisraAcquisition(). The strategy is used by one table only.
+	 */
+	public void initialize(int simulationTime, int randomSeed, AcquisitionStrategy acquisitionStrategy) {
 		SIMULATION_TIME = simulationTime;
 		SEED = randomSeed;
 
 		philosophers = new ArrayList<Philosopher>(NUMBER_OF_PHILOSOPHERS);
 		chopsticks = new ArrayList<Chopstick>(NUMBER_OF_PHILOSOPHERS);
 
-		//create the executor service
-		executorService = Executors.newFixedThreadPool(NUMBER_OF_PHILOSOPHERS);
-
+		// The executor service is created by start(), for the execution mode set by then.
 
 		// Create chopsticks, 1 for each philosopher.
+		ChopstickTable table = lockFreeChopsticks ? new ChopstickTable(NUMBER_OF_PHILOSOPHERS) : null;
 		for(int i=0; i < NUMBER_OF_PHILOSOPHERS; i++){
-			chopsticks.add(new Chopstick(i));
+			chopsticks.add(table == null ? new Chopstick(i) : new Chopstick(i, table.lock(i)));
 		}
 
 		// Creates philosophers and assigns corresponding chopsticks
 		// Right = i, left = i + 1, create boundary with modulus of the chopstick sizes.
 		for(int i=0; i < chopsticks.size(); i++){
-			philosophers.add(new Philosopher(i, chopsticks.get((i+1)%chopsticks.size()), chopsticks.get(i), SEED, DEBUG));
+			philosophers.add(new Philosopher(i, chopsticks.get((i+1)%chopsticks.size()), chopsticks.get(i), SEED, DEBUG,
+					acquisitionStrategy));
 		}
+		acquisitionStrategy.initialize(philosophers, chopsticks);
+
 	}
 
 	public ArrayList<Philosopher> getPhilosophers() {
@@ -98,21 +496,114 @@ public class DiningPhilosopher {
 	 * This table should be printed regardless of the DEBUG value
 	 */
 	public void printTable() {
+		int n = philosophers.size();
+		double[] thinkingTime = new double[n];
+		double[] eatingTime = new double[n];
+		double[] hungryTime = new double[n];
+		int[] thinkingTurns = new int[n];
+		int[] eatingTurns = new int[n];
+		int[] hungryTurns = new int[n];
+		for (int i = 0; i < n; i++) {
+			Philosopher p = philosophers.get(i);
+			thinkingTurns[i] = p.getNumberOfThinkingTurns();
+			eatingTurns[i] = p.getNumberOfEatingTurns();
+			hungryTurns[i] = p.getNumberOfHungryTurns();
+			thinkingTime[i] = p.getTotalThinkingTime();
+			eatingTime[i] = p.getTotalEatingTime();
+			hungryTime[i] = p.getTotalHungryTime();
+		}
+		printTable(thinkingTime, eatingTime, hungryTime, thinkingTurns, eatingTurns, hungryTurns);
+	}
+
+	/*
+	 * Prints the table from the total times and turns of philosophers 0 to n - 1, as also rebuilt from a recording.
+	 */
+	static void printTable(double[] thinkingTime, double[] eatingTime, double[] hungryTime,
+			int[] thinkingTurns, int[] eatingTurns, int[] hungryTurns) {
 		DecimalFormat df2 = new DecimalFormat(".##");
 		System.out.println("\n---------------------------------------------------");
 		System.out.println("PID \tATT \t\tAET \t\tAHT \t\t#TT \t#ET \t#HT");
 
+		double[] meals = new double[eatingTurns.length];
+		for (int i = 0; i < eatingTurns.length; i++) {
+			System.out.println(i + "\t\t"
+					+ df2.format(thinkingTime[i] / thinkingTurns[i]) + "\t\t"
+					+ df2.format(eatingTime[i] / eatingTurns[i]) + "\t\t"
+					+ df2.format(hungryTime[i] / hungryTurns[i]) + "\t\t"
+					+ thinkingTurns[i] + "\t\t"
+					+ eatingTurns[i] + "\t\t"
+					+ hungryTurns[i] + "\t\t");
+			meals[i] = eatingTurns[i];
+		}
+
+		System.out.println("Fairness (Jain's index of #ET): " + new DecimalFormat("0.##").format(jainIndex(meals)));
+		System.out.println("---------------------------------------------------\n");
+	}
+
+	/*
+	 * Returns the metrics of all philosophers added together, safe to call while the philosophers run.
+	 */
+	public PhilosopherMetrics getMetrics() {
+		PhilosopherMetrics table = new PhilosopherMetrics();
+		for (Philosopher p : philosophers) {
+			table.merge(p.getMetrics());
+		}
+		return table;
+	}
+
+	/*
+	 * Returns Jain's fairness index of the eating turns, (sum x)^2 / (n * sum x^2), which is 1 when every
+	 * philosopher ate as often as the others and 1/n when one philosopher had all the meals.
+	 */
+	public double getFairnessIndex() {
+		double[] meals = new double[philosophers.size()];
+		for (int i = 0; i < meals.length; i++) {
+			meals[i] = philosophers.get(i).getNumberOfEatingTurns();
+		}
+		return jainIndex(meals);
+	}
+
+	static double jainIndex(double[] values) {
+		double sum = 0;
+		double sumOfSquares = 0;
+		for (double x : values) {
+			sum += x;
+			sumOfSquares += x * x;
+		}
+		return sumOfSquares == 0 ? 1 : sum * sum / (values.length * sumOfSquares);
+	}
+
+	/*
+	 * Returns the contention per chopstick and the attempts per meal of every philosopher.
+	 * Meant for after start(), when the philosophers have stopped.
+	 */
+	public ContentionProfile getContentionProfile() {
+		return ContentionProfile.of(philosophers);
+	}
+
+	/*
+	 * Prints the hunger latency of every philosopher, the time from becoming hungry to holding both chopsticks,
+	 * as the median (P50), 99th percentile (P99) and maximum in milliseconds, and the same for the whole table.
+	 */
+	public void printLatencies() {
+		DecimalFormat df2 = new DecimalFormat("0.##");
+		System.out.println("\n---------------------------------------------------");
+		System.out.println("PID \tP50 HL \tP99 HL \tMAX HL \t#HL");
+
 		for (Philosopher p : philosophers) {
-			System.out.println(p.getId() + "\t\t"
-					+ df2.format(p.getAverageThinkingTime()) + "\t\t"
-					+ df2.format(p.getAverageEatingTime()) + "\t\t"
-					+ df2.format(p.getAverageHungryTime()) + "\t\t"
-					+ p.getNumberOfThinkingTurns() + "\t\t"
-					+ p.getNumberOfEatingTurns() + "\t\t"
-					+ p.getNumberOfHungryTurns() + "\t\t");
+			printLatency(String.valueOf(p.getId()), p.getMetrics().getHungry().snapshot(), df2);
 		}
+		printLatency("ALL", getMetrics().getHungry(), df2);
 
 		System.out.println("---------------------------------------------------\n");
 	}
 
+	private void printLatency(String name, DurationHistogram latency, DecimalFormat df2) {
+		System.out.println(name + "\t\t"
+				+ df2.format(latency.getPercentile(50) / 1e6) + "\t\t"
+				+ df2.format(latency.getPercentile(99) / 1e6) + "\t\t"
+				+ df2.format(latency.getMax() / 1e6) + "\t\t"
+				+ latency.getCount());
+	}
+
 }
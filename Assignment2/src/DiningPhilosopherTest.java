@@ -7,8 +7,21 @@
  */
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
 
 import org.junit.Test;
 
@@ -198,4 +211,581 @@ public class DiningPhilosopherTest {
 		}
 	}
 
+	/*
+	 * The virtual time simulation draws the same durations in the same order as the threads,
+	 * so it gives the averages expected by test1 without waiting for them.
+	 */
+	@Test(timeout = 2000)
+	public void test4() throws InterruptedException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.initialize(5000, 100);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+		dp.start();
+
+		double[][] expected = {{693, 412}, {315, 636}, {571, 427}, {335, 633}, {313, 398}};
+		for (Philosopher p : dp.getPhilosophers()) {
+			assertTrue("The average thinking time may not be correct!", Math.floor(p.getAverageThinkingTime()) == expected[p.getId()][0]);
+			assertTrue("The average eating time may not be correct!", Math.floor(p.getAverageEatingTime()) == expected[p.getId()][1]);
+		}
+	}
+
+	/*
+	 * Ten simulated minutes run in well under a second and give the same result every time.
+	 */
+	@Test(timeout = 2000)
+	public void test5() throws InterruptedException {
+		DiningPhilosopher first = new DiningPhilosopher();
+		DiningPhilosopher second = new DiningPhilosopher();
+		for (DiningPhilosopher dp : new DiningPhilosopher[]{first, second}) {
+			dp.DEBUG = false;
+			dp.initialize(10 * 60 * 1000, 7);
+			dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+			dp.start();
+		}
+
+		for (int i = 0; i < first.getPhilosophers().size(); i++) {
+			Philosopher a = first.getPhilosophers().get(i);
+			Philosopher b = second.getPhilosophers().get(i);
+			assertTrue("The philosopher should have eaten many times!", a.getNumberOfEatingTurns() > 100);
+			assertTrue("The simulation should be deterministic!", a.getNumberOfEatingTurns() == b.getNumberOfEatingTurns());
+			assertTrue("The simulation should be deterministic!", a.getTotalHungryTime() == b.getTotalHungryTime());
+			assertTrue("The average eating times may not be correct!", a.getAverageEatingTime() > 10 && a.getAverageEatingTime() < 990);
+		}
+	}
+
+	/*
+	 * A large table in the virtual thread mode. On JVMs without virtual threads start() must refuse the mode
+	 * instead of running it on platform threads.
+	 */
+	@Test(timeout = 2000+3000)
+	public void test6() throws InterruptedException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.setNumberOfPhilosophers(2000);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		dp.initialize(2000, 100);
+
+		if (!hasVirtualThreads()) {
+			try {
+				dp.start();
+				fail("VIRTUAL_THREADS should be refused without virtual threads!");
+			} catch (IllegalStateException expected) {
+			}
+			return;
+		}
+		dp.start();
+
+		int eaten = 0;
+		for (Philosopher p : dp.getPhilosophers()) {
+			if (p.getNumberOfEatingTurns() > 0) {
+				eaten++;
+			}
+		}
+		assertTrue("Most philosophers should have eaten!", eaten > 1000);
+		assertTrue("The throughput may not be correct!", dp.getMealsPerSecond() > 0);
+	}
+
+	/*
+	 * Every acquisition strategy keeps a table of seven eating, without deadlock.
+	 */
+	@Test(timeout = 5 * 2500 + 2000)
+	public void test7() throws InterruptedException {
+		AcquisitionStrategy[] strategies = {new SpinThenParkAcquisition(), new BackoffAcquisition(),
+				new OrderedAcquisition(), new WaiterAcquisition(), new ChandyMisraAcquisition()};
+
+		for (AcquisitionStrategy strategy : strategies) {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.DEBUG = false;
+			dp.setNumberOfPhilosophers(7);
+			dp.initialize(2000, 100, strategy);
+			dp.start();
+
+			String name = strategy.getClass().getName();
+			int meals = 0;
+			for (Philosopher p : dp.getPhilosophers()) {
+				meals += p.getNumberOfEatingTurns();
+				if (p.getNumberOfEatingTurns() > 0) {
+					assertTrue(name + ": the average eating times may not be correct!", p.getAverageEatingTime() >= 0 && p.getAverageEatingTime() < 1000);
+				}
+			}
+			assertTrue(name + ": the philosophers should have kept eating!", meals >= 7);
+		}
+	}
+
+	/*
+	 * Two chopsticks in one word of a ChopstickTable are taken together or not at all, the table knows who
+	 * holds them, and a chopstick lock has working conditions.
+	 */
+	@Test(timeout = 2000)
+	public void test8() throws InterruptedException {
+		ChopstickTable table = new ChopstickTable(130);
+
+		assertTrue("Both chopsticks should be free!", table.tryTakeBoth(3, 4));
+		assertTrue("The owner should be recorded!", table.getOwner(3) == Thread.currentThread() && table.getOwner(4) == Thread.currentThread());
+		assertTrue("Chopstick 4 should be taken!", !table.tryTakeBoth(4, 5) && !table.isTaken(5));
+		assertTrue("Chopsticks in different words are not taken at once!", !table.tryTakeBoth(63, 64));
+		assertTrue("Chopstick 129 should be free!", table.lock(129).tryLock() && table.isTaken(129));
+
+		table.putBoth(3, 4);
+		assertTrue("Both chopsticks should be free again!", !table.isTaken(3) && !table.isTaken(4));
+		assertTrue("The owner should be cleared!", table.getOwner(3) == null && new Chopstick(3, table.lock(3)).getOwner() == null);
+		assertTrue("Chopstick 4 should be free again!", table.tryTakeBoth(4, 5));
+
+		Lock lock = table.lock(100);
+		Condition condition = lock.newCondition();
+		lock.lock();
+		assertTrue("Nobody signals, the wait should time out!", !condition.await(10, TimeUnit.MILLISECONDS));
+		assertTrue("The chopstick should be held again after the wait!", table.getOwner(100) == Thread.currentThread());
+
+		Thread signaller = new Thread(() -> {
+			lock.lock();
+			condition.signal();
+			lock.unlock();
+		});
+		signaller.start();
+		assertTrue("The waiting thread should be signalled!", condition.await(1, TimeUnit.SECONDS));
+		assertTrue("The chopstick should be held again after the signal!", table.getOwner(100) == Thread.currentThread());
+		lock.unlock();
+		signaller.join();
+	}
+
+	/*
+	 * A table large enough that some philosophers have their chopsticks in two different words, on virtual
+	 * threads so that 130 spinning philosophers share the carriers.
+	 */
+	@Test(timeout = 2500+2000)
+	public void test9() throws InterruptedException {
+		assumeTrue("Needs a JVM with virtual threads", hasVirtualThreads());
+
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.setNumberOfPhilosophers(130);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_THREADS);
+		dp.setLockFreeChopsticks(true);
+		dp.initialize(2500, 100, new PairCasAcquisition());
+		dp.start();
+
+		int meals = 0;
+		for (Philosopher p : dp.getPhilosophers()) {
+			meals += p.getNumberOfEatingTurns();
+		}
+		assertTrue("The philosophers should have kept eating!", meals >= 130);
+	}
+
+	/*
+	 * The asynchronous log prints the same lines as the philosophers print themselves, in the same order
+	 * for every philosopher. Lines of different philosophers in the same microsecond may swap.
+	 */
+	@Test(timeout = 5000)
+	public void test10() throws InterruptedException {
+		String direct = debugOutput(false);
+		String async = debugOutput(true);
+		assertTrue("The log should not be empty!", direct.contains("picked up chopstick"));
+		assertTrue("The asynchronous log should print the same lines!", direct.length() == async.length());
+		for (int i = 0; i < 5; i++) {
+			assertTrue("The asynchronous log should keep the order of philosopher " + i + "!",
+					linesOf(direct, i).equals(linesOf(async, i)));
+		}
+	}
+
+	private ArrayList<String> linesOf(String output, int philosopher) {
+		ArrayList<String> lines = new ArrayList<String>();
+		for (String line : output.split("\n")) {
+			if (line.startsWith("Philosopher " + philosopher + " ")) {
+				lines.add(line);
+			}
+		}
+		return lines;
+	}
+
+	private String debugOutput(boolean asyncLogging) throws InterruptedException {
+		PrintStream out = System.out;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(buffer, true));
+		try {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.DEBUG = true;
+			dp.initialize(5000, 100);
+			dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+			dp.setAsyncLogging(asyncLogging);
+			dp.start();
+		} finally {
+			System.setOut(out);
+		}
+		return buffer.toString();
+	}
+
+	private boolean hasVirtualThreads() {
+		ExecutorService virtualThreads = DiningPhilosopher.newVirtualThreadPerTaskExecutor();
+		if (virtualThreads == null) {
+			return false;
+		}
+		virtualThreads.shutdown();
+		return true;
+	}
+
+	/*
+	 * Every meal records its hunger latency, and the histograms keep durations within about 6%.
+	 */
+	@Test(timeout = 2000)
+	public void test11() throws InterruptedException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.initialize(60000, 100);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+		dp.start();
+
+		long meals = 0;
+		for (Philosopher p : dp.getPhilosophers()) {
+			PhilosopherMetrics metrics = p.getMetrics().snapshot();
+			assertTrue("Every meal should have a hunger latency!", metrics.getHungry().getCount() == p.getNumberOfEatingTurns());
+			assertTrue("Every finished meal should be recorded!", Math.abs(metrics.getEating().getMean() / 1e6 * metrics.getEating().getCount() - p.getTotalEatingTime()) < 1);
+			meals += p.getNumberOfEatingTurns();
+		}
+
+		DurationHistogram latency = dp.getMetrics().getHungry();
+		assertTrue("All meals should be in the table metrics!", latency.getCount() == meals);
+		assertTrue("The percentiles may not be correct!", latency.getPercentile(50) <= latency.getPercentile(99) && latency.getPercentile(99) <= latency.getMax());
+
+		DurationHistogram histogram = new DurationHistogram();
+		histogram.record(123456789);
+		long reported = histogram.getPercentile(50);
+		assertTrue("The duration may not be correct!", reported >= 123456789 * 0.94 && reported <= 123456789);
+	}
+
+	/*
+	 * Philosophers that always take the left chopstick and then wait for the right one, all at the same time,
+	 * end in the classic deadlock, which the watchdog finds, with locks and with lock-free chopsticks.
+	 */
+	@Test(timeout = 2 * 2000 + 2000)
+	public void test12() throws InterruptedException {
+		for (boolean lockFree : new boolean[]{false, true}) {
+			final CyclicBarrier allHoldingLeft = new CyclicBarrier(5);
+			AcquisitionStrategy leftFirst = new AcquisitionStrategy() {
+				public void acquire(Philosopher philosopher) throws InterruptedException {
+					philosopher.getLeftChopstick().getLock().lockInterruptibly();
+					try {
+						allHoldingLeft.await();
+					} catch (BrokenBarrierException e) {
+					}
+					philosopher.getRightChopstick().getLock().lockInterruptibly();
+				}
+
+				public void release(Philosopher philosopher) {
+					philosopher.getRightChopstick().getLock().unlock();
+					philosopher.getLeftChopstick().getLock().unlock();
+				}
+			};
+
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.DEBUG = false;
+			dp.setWatchdog(50, 500);
+			dp.setLockFreeChopsticks(lockFree);
+			dp.initialize(2000, 100, leftFirst);
+			dp.start();
+			dp.executorService.shutdownNow(); // the deadlocked threads only stop when interrupted
+
+			boolean deadlock = false;
+			boolean starvation = false;
+			for (Watchdog.Alert alert : dp.getWatchdog().getAlerts()) {
+				if (alert.getKind() == Watchdog.Kind.DEADLOCK) {
+					deadlock = true;
+					assertTrue("All philosophers should be in the deadlock! Lock-free: " + lockFree, alert.getPhilosophers().length == 5);
+				}
+				starvation |= alert.getKind() == Watchdog.Kind.STARVATION;
+			}
+			assertTrue("The deadlock should have been found! Lock-free: " + lockFree, deadlock);
+			assertTrue("The starving philosophers should have been found!", starvation);
+		}
+	}
+
+	/*
+	 * Every meal counts as an acquisition of both chopsticks, and the profile is exported one row per seat.
+	 */
+	@Test(timeout = 2000)
+	public void test13() throws InterruptedException, IOException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.setNumberOfPhilosophers(7);
+		dp.initialize(60000, 100);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+		dp.start();
+
+		ContentionProfile profile = dp.getContentionProfile();
+		ArrayList<Philosopher> philosophers = dp.getPhilosophers();
+		long failed = 0;
+		for (int c = 0; c < 7; c++) {
+			// Chopstick c is the right one of philosopher c and the left one of philosopher c - 1.
+			long meals = philosophers.get(c).getNumberOfEatingTurns() + philosophers.get((c + 6) % 7).getNumberOfEatingTurns();
+			assertTrue("The acquisitions of chopstick " + c + " may not be correct!", profile.getAcquisitions(c) == meals);
+			assertTrue("The hold time may not be correct!", profile.getMaxHoldNanos(c) < 1000 * 1000000L);
+			failed += profile.getFailed(c);
+		}
+		assertTrue("Some philosophers should have waited!", failed > 0 && profile.getAttemptsPerMeal(0) >= 1);
+
+		Path csv = Files.createTempFile("contention", ".csv");
+		try {
+			profile.writeCsv(csv);
+			List<String> lines = Files.readAllLines(csv);
+			assertTrue("The CSV should have a header and a row per seat!", lines.size() == 8 && lines.get(0).startsWith("seat,"));
+		} finally {
+			Files.delete(csv);
+		}
+	}
+
+	/*
+	 * With tickets every philosopher of a busy table eats, and the fairness index is computed as Jain's.
+	 */
+	@Test(timeout = 3000+2000)
+	public void test14() throws InterruptedException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.DEBUG = false;
+		dp.setNumberOfPhilosophers(7);
+		dp.initialize(3000, 100, new TicketAcquisition());
+		dp.start();
+
+		for (Philosopher p : dp.getPhilosophers()) {
+			assertTrue("Every philosopher should have eaten!", p.getNumberOfEatingTurns() > 0);
+		}
+		assertTrue("The fairness index may not be correct!", dp.getFairnessIndex() > 1.0 / 7 && dp.getFairnessIndex() <= 1);
+
+		assertTrue("Equal meals should be fair!", DiningPhilosopher.jainIndex(new double[]{3, 3, 3, 3}) == 1);
+		assertTrue("One philosopher eating should be 1/n!", DiningPhilosopher.jainIndex(new double[]{5, 0, 0, 0}) == 0.25);
+	}
+
+	/*
+	 * A sweep writes one row per configuration in grid order, the same rows every time in virtual time.
+	 */
+	@Test(timeout = 5000)
+	public void test15() throws IOException, InterruptedException {
+		ParameterSweep sweep = new ParameterSweep()
+				.addSize(5).addSize(9)
+				.addSeed(1).addSeed(2).addSeed(3)
+				.addSimulationTime(30000)
+				.addStrategy("spin")
+				.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+
+		Path first = Files.createTempFile("sweep", ".csv");
+		Path second = Files.createTempFile("sweep", ".csv");
+		try {
+			sweep.run(first);
+			sweep.setParallelism(1).run(second);
+			List<String> rows = Files.readAllLines(first);
+			assertTrue("The sweep should have a header and a row per configuration!", rows.size() == 1 + 6);
+			assertTrue("The rows should be in grid order!", rows.get(1).startsWith("5,1,30000,spin,VIRTUAL_TIME,") && rows.get(6).startsWith("9,3,"));
+			assertTrue("The sweep should be deterministic in virtual time!", rows.equals(Files.readAllLines(second)));
+		} finally {
+			Files.delete(first);
+			Files.delete(second);
+		}
+	}
+
+	/*
+	 * A recorded run rebuilds its table exactly, and replaying it picks up every chopstick in the recorded order.
+	 */
+	@Test(timeout = 30000)
+	public void test16() throws IOException, InterruptedException {
+		Path first = Files.createTempFile("run", ".events");
+		Path second = Files.createTempFile("replay", ".events");
+		try {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.setDebug(false);
+			dp.initialize(1500, 7);
+			dp.setRecording(first);
+			dp.start();
+
+			EventReplay replay = EventReplay.open(first);
+			assertTrue("The header should describe the run!", replay.getNumberOfPhilosophers() == 5 && replay.getSeed() == 7 && replay.getSimulationTime() == 1500);
+			EventReplay.Statistics statistics = replay.getStatistics();
+			for (Philosopher p : dp.getPhilosophers()) {
+				int id = p.getId();
+				assertTrue("The recorded turns should be the turns of the run!", statistics.getNumberOfThinkingTurns(id) == p.getNumberOfThinkingTurns()
+						&& statistics.getNumberOfEatingTurns(id) == p.getNumberOfEatingTurns()
+						&& statistics.getNumberOfHungryTurns(id) == p.getNumberOfHungryTurns());
+				assertTrue("The recorded times should be the times of the run!", statistics.getTotalThinkingTime(id) == p.getTotalThinkingTime()
+						&& statistics.getTotalEatingTime(id) == p.getTotalEatingTime()
+						&& statistics.getTotalHungryTime(id) == p.getTotalHungryTime());
+			}
+
+			int[][] recorded = replay.getPickUpOrder();
+			DiningPhilosopher again = replay.newReplayTable();
+			again.setDebug(false);
+			again.setRecording(second);
+			again.start();
+			int[][] replayed = EventReplay.open(second).getPickUpOrder();
+			for (int c = 0; c < recorded.length; c++) {
+				assertTrue("Every chopstick should have been used!", recorded[c].length > 0 && replayed[c].length > 0);
+				for (int k = 0; k < Math.min(recorded[c].length, replayed[c].length); k++) {
+					assertTrue("The replay should pick up the chopsticks in the recorded order!", recorded[c][k] == replayed[c][k]);
+				}
+			}
+		} finally {
+			Files.delete(first);
+			Files.delete(second);
+		}
+	}
+
+	/*
+	 * The resource graph simulation of a ring is the virtual time table, and its colouring never gives
+	 * conflicting contenders the same colour.
+	 */
+	@Test(timeout = 10000)
+	public void test17() throws InterruptedException {
+		DiningPhilosopher dp = new DiningPhilosopher();
+		dp.setDebug(false);
+		dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+		dp.initialize(60000, 4);
+		dp.start();
+
+		// The launch order of DiningPhilosopher: odd philosophers first, 50 ms apart
+		long[] startTimes = new long[5];
+		long launch = 0;
+		for (int i : new int[]{1, 3, 0, 2, 4}) {
+			startTimes[i] = launch;
+			launch += 50;
+		}
+		ResourceSimulation ring = new ResourceSimulation(ResourceGraph.ring(5), 4).setStartTimes(startTimes);
+		ring.run(launch + 60000);
+		for (Philosopher p : dp.getPhilosophers()) {
+			int id = p.getId();
+			assertTrue("The ring should have the turns of the table!", ring.getNumberOfThinkingTurns(id) == p.getNumberOfThinkingTurns()
+					&& ring.getNumberOfEatingTurns(id) == p.getNumberOfEatingTurns()
+					&& ring.getNumberOfHungryTurns(id) == p.getNumberOfHungryTurns());
+			assertTrue("The ring should have the times of the table!", ring.getTotalThinkingTime(id) == p.getTotalThinkingTime()
+					&& ring.getTotalEatingTime(id) == p.getTotalEatingTime()
+					&& ring.getTotalHungryTime(id) == p.getTotalHungryTime());
+		}
+
+		ResourceGraph graph = ResourceGraph.random(20000, 10000, 3, 1);
+		int[] colour = graph.colour();
+		for (int r = 0; r < graph.getResourceCount(); r++) {
+			int[] users = graph.getUsers(r);
+			for (int a = 0; a < users.length; a++) {
+				for (int b = a + 1; b < users.length; b++) {
+					assertTrue("Contenders sharing a resource should have different colours!", colour[users[a]] != colour[users[b]]);
+				}
+			}
+		}
+		for (ResourceSimulation.Policy policy : ResourceSimulation.Policy.values()) {
+			ResourceSimulation simulation = new ResourceSimulation(graph, 1).setPolicy(policy);
+			simulation.run(60000);
+			assertTrue("Every contender should eat under " + policy + "!", simulation.getLatency().getCount() > 0 && simulation.getFairnessIndex() > 0.5);
+		}
+	}
+
+	/*
+	 * Stopping interrupts the philosophers wherever they are: start() returns right after the simulation
+	 * time with every philosopher stopped, and the table does not change afterwards.
+	 */
+	@Test(timeout = 10000)
+	public void test18() throws InterruptedException {
+		for (AcquisitionStrategy strategy : new AcquisitionStrategy[]{new SpinAcquisition(), new TicketAcquisition()}) {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.setDebug(false);
+			dp.initialize(1000, 100, strategy);
+			long start = System.currentTimeMillis();
+			dp.start();
+			long elapsed = System.currentTimeMillis() - start;
+
+			assertTrue("The philosophers should have stopped!", dp.executorService.isTerminated());
+			assertTrue("Stopping should not wait for the turns to end!", elapsed < 1000 + 5 * 50 + 200);
+
+			int[] turns = new int[5];
+			double[] times = new double[5];
+			for (Philosopher p : dp.getPhilosophers()) {
+				turns[p.getId()] = p.getNumberOfThinkingTurns() + p.getNumberOfHungryTurns() + p.getNumberOfEatingTurns();
+				times[p.getId()] = p.getTotalThinkingTime() + p.getTotalHungryTime() + p.getTotalEatingTime();
+			}
+			Thread.sleep(1100);
+			for (Philosopher p : dp.getPhilosophers()) {
+				assertTrue("The turns should not change after start()!", turns[p.getId()] == p.getNumberOfThinkingTurns() + p.getNumberOfHungryTurns() + p.getNumberOfEatingTurns());
+				assertTrue("The times should not change after start()!", times[p.getId()] == p.getTotalThinkingTime() + p.getTotalHungryTime() + p.getTotalEatingTime());
+			}
+		}
+	}
+
+	/*
+	 * Released through a latch, a table of 300 philosophers starts in milliseconds instead of the 15 s of
+	 * the staggered launch, in both start orders.
+	 */
+	@Test(timeout = 2 * 2500 + 2000)
+	public void test19() throws InterruptedException {
+		for (StartOrder order : new StartOrder[]{StartOrder.ODD_EVEN, StartOrder.SIMULTANEOUS}) {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.setDebug(false);
+			dp.setNumberOfPhilosophers(300);
+			dp.setStartOrder(order);
+			dp.initialize(1000, 100);
+			long start = System.currentTimeMillis();
+			dp.start();
+			long elapsed = System.currentTimeMillis() - start;
+
+			assertTrue("The launch should not depend on the size of the table!", elapsed < 1000 + 1000);
+			int thought = 0;
+			for (Philosopher p : dp.getPhilosophers()) {
+				if (p.getNumberOfThinkingTurns() > 0) {
+					thought++;
+				}
+			}
+			assertTrue("Every philosopher should have started!", thought == 300);
+		}
+	}
+
+	/*
+	 * In the ODD_EVEN and SIMULTANEOUS start orders every philosopher starts at time 0, so the virtual time
+	 * table is the ring of a ResourceSimulation without start times.
+	 */
+	@Test(timeout = 5000)
+	public void test20() throws InterruptedException {
+		ResourceSimulation ring = new ResourceSimulation(ResourceGraph.ring(5), 100);
+		ring.run(60000);
+		for (StartOrder order : new StartOrder[]{StartOrder.ODD_EVEN, StartOrder.SIMULTANEOUS}) {
+			DiningPhilosopher dp = new DiningPhilosopher();
+			dp.setDebug(false);
+			dp.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+			dp.setStartOrder(order);
+			dp.initialize(60000, 100);
+			dp.start();
+
+			for (Philosopher p : dp.getPhilosophers()) {
+				int id = p.getId();
+				assertTrue(order + ": the ring should have the turns of the table!", ring.getNumberOfThinkingTurns(id) == p.getNumberOfThinkingTurns()
+						&& ring.getNumberOfEatingTurns(id) == p.getNumberOfEatingTurns());
+				assertTrue(order + ": the ring should have the times of the table!", ring.getTotalThinkingTime(id) == p.getTotalThinkingTime()
+						&& ring.getTotalEatingTime(id) == p.getTotalEatingTime()
+						&& ring.getTotalHungryTime(id) == p.getTotalHungryTime());
+			}
+		}
+	}
+
+	/*
+	 * The threads keep to the timeline of the virtual time simulation and the table is cut at its end, so a
+	 * threaded run gives the virtual time table, hungry times included, here in the ODD_EVEN start order.
+	 */
+	@Test(timeout = 3000+2000)
+	public void test21() throws InterruptedException {
+		DiningPhilosopher threads = new DiningPhilosopher();
+		DiningPhilosopher virtual = new DiningPhilosopher();
+		for (DiningPhilosopher dp : new DiningPhilosopher[]{threads, virtual}) {
+			dp.setDebug(false);
+			dp.setStartOrder(StartOrder.ODD_EVEN);
+			dp.initialize(3000, 100);
+		}
+		virtual.setExecutionMode(ExecutionMode.VIRTUAL_TIME);
+		threads.start();
+		virtual.start();
+
+		for (int i = 0; i < 5; i++) {
+			Philosopher a = threads.getPhilosophers().get(i);
+			Philosopher b = virtual.getPhilosophers().get(i);
+			assertTrue("The threads should have the turns of the virtual time table!", a.getNumberOfThinkingTurns() == b.getNumberOfThinkingTurns()
+					&& a.getNumberOfEatingTurns() == b.getNumberOfEatingTurns()
+					&& a.getNumberOfHungryTurns() == b.getNumberOfHungryTurns());
+			assertTrue("The threads should have the times of the virtual time table!", a.getTotalThinkingTime() == b.getTotalThinkingTime()
+					&& a.getTotalEatingTime() == b.getTotalEatingTime()
+					&& a.getTotalHungryTime() == b.getTotalHungryTime());
+		}
+	}
+
 }
@@ -0,0 +1,148 @@
+/*
+ * File:	DurationHistogram.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds, written by one thread and read live by others.
+ * <p>
+ * Durations below 2^SUB_BITS ns are counted exactly. Above that every power of two is split into 2^SUB_BITS
+ * buckets, so a duration is reported within 1 / 2^SUB_BITS (about 6%) of what was recorded. Durations from
+ * 2^MAX_EXPONENT ns (about a minute) share the last bucket, the maximum is still exact. This is the bucket
+ * layout of LogHistogram in Assignment1, kept here so that each assignment builds on its own.
+ * <p>
+ * Only the owning thread may call record(). It updates the counters with plain reads and ordered stores,
+ * without locks or read-modify-write instructions. Any thread may take a snapshot(), which is consistent per
+ * bucket and may miss the records made while it is taken.
+ */
+public class DurationHistogram {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 36;
+    // One more bucket for the durations of 2^MAX_EXPONENT ns and over
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 1) * SUB_BUCKETS + 1;
+
+    // Indexes into totals
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MAX = 2;
+
+    private final int[] counts = new int[BUCKETS];
+    private final long[] totals = new long[3];
+
+    /**
+     * Records a duration. Must only be called by the owning thread.
+     * @param nanos Duration in nanoseconds, negative durations are counted as 0.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        int i = index(nanos);
+        INTS.setRelease(counts, i, counts[i] + 1);
+        LONGS.setRelease(totals, SUM, totals[SUM] + nanos);
+        if (nanos > totals[MAX]) {
+            LONGS.setRelease(totals, MAX, nanos);
+        }
+        LONGS.setRelease(totals, COUNT, totals[COUNT] + 1);
+    }
+
+    /**
+     * @return Copy of the histogram, safe to take while the owner records.
+     */
+    public DurationHistogram snapshot() {
+        DurationHistogram copy = new DurationHistogram();
+        copy.totals[SUM] = (long) LONGS.getAcquire(totals, SUM);
+        copy.totals[MAX] = (long) LONGS.getAcquire(totals, MAX);
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy.counts[i] = (int) INTS.getAcquire(counts, i);
+            count += copy.counts[i];
+        }
+        copy.totals[COUNT] = count;
+        return copy;
+    }
+
+    /**
+     * Adds the durations of another histogram, for example to sum the snapshots of a table.
+     * Must not be called on a histogram that is being recorded into.
+     */
+    public void merge(DurationHistogram other) {
+        DurationHistogram snapshot = other.snapshot();
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += snapshot.counts[i];
+        }
+        totals[COUNT] += snapshot.totals[COUNT];
+        totals[SUM] += snapshot.totals[SUM];
+        totals[MAX] = Math.max(totals[MAX], snapshot.totals[MAX]);
+    }
+
+    public long getCount() {
+        return (long) LONGS.getAcquire(totals, COUNT);
+    }
+
+    public long getMax() {
+        return (long) LONGS.getAcquire(totals, MAX);
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) (long) LONGS.getAcquire(totals, SUM) / count;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100, for example 99.
+     * @return Highest duration in the bucket holding the percentile, at most the maximum.
+     */
+    public long getPercentile(double percentile) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += (int) INTS.getAcquire(counts, i);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += (int) INTS.getAcquire(counts, i);
+            if (seen >= rank) {
+                return Math.min(getMax(), highestValue(i));
+            }
+        }
+        return getMax();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent >= MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BITS;
+        int mantissa = (int) (value >>> shift); // in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return ((shift + 1) << SUB_BITS) + mantissa - SUB_BUCKETS;
+    }
+
+    static long highestValue(int index) {
+        if (index == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int shift = (index >>> SUB_BITS) - 1;
+        if (shift < 0) {
+            return index;
+        }
+        long mantissa = (index & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
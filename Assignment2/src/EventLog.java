@@ -0,0 +1,273 @@
+/*
+ * File:	EventLog.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous log of philosopher events.
+ * <p>
+ * Every philosopher writes into its own preallocated ring of primitive records, which it is the only
+ * writer of, so recording an event takes neither a lock nor an allocation: two array stores and an ordered
+ * store of the tail. A background thread drains the rings, merges the events by time and hands them to a
+ * Sink, which formats and prints them (TextSink) or stores them. The order within a philosopher is kept;
+ * events of different philosophers are ordered by their time to the microsecond among the events drained
+ * together.
+ * <p>
+ * A writer whose ring is full waits for the drainer, so no event is lost while the log is open.
+ * After close() new events are dropped.
+ */
+public class EventLog {
+
+    // Event types, the states keep their PhilosopherState ordinal
+    public static final int THINKING = PhilosopherState.Thinking.ordinal();
+    public static final int HUNGRY = PhilosopherState.Hungry.ordinal();
+    public static final int EATING = PhilosopherState.Eating.ordinal();
+    public static final int FINISHED = PhilosopherState.Finished.ordinal();
+    public static final int PICKED_UP = 4;
+    public static final int STOPPING = 5;
+    // Recorded runs only (see EventRecorder): chopsticks put down, and the hungry time of a turn in nanoseconds
+    public static final int PUT_DOWN = 6;
+    public static final int HUNGRY_TIME = 7;
+
+    private static final int TYPE_SHIFT = 56;
+    private static final long VALUE_MASK = (1L << TYPE_SHIFT) - 1;
+
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Receives the drained events, on the drainer thread only.
+     */
+    public interface Sink {
+        /**
+         * @param time Nanoseconds since the log was created.
+         * @param philosopher Philosopher id, or the number of philosophers for events of the table.
+         */
+        void write(long time, int philosopher, int type, long value) throws IOException;
+
+        default void flush() throws IOException {
+        }
+    }
+
+    /**
+     * Prints the events as the philosophers print them without a log.
+     */
+    public static class TextSink implements Sink {
+        private final PrintStream out;
+        private final StringBuilder line = new StringBuilder();
+
+        public TextSink(PrintStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(long time, int philosopher, int type, long value) {
+            line.setLength(0);
+            out.println(format(line, philosopher, type, value));
+        }
+
+        @Override
+        public void flush() {
+            out.flush();
+        }
+    }
+
+    /**
+     * Single-writer, single-reader ring of (time, type and value) records.
+     */
+    private static final class Ring {
+        final long[] slots;
+        final int mask;
+
+        // Written by the philosopher, read by the drainer
+        final AtomicLong tail = new AtomicLong();
+        // Written by the drainer, read by the philosopher when the ring looks full
+        final AtomicLong head = new AtomicLong();
+
+        // Fields of one thread only
+        long writerTail;
+        long writerHead;
+        long readerHead;
+        long readerTail;
+
+        Ring(int capacity) {
+            slots = new long[2 * capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private final Ring[] rings;
+    private final int capacity;
+    private final long startTime = System.nanoTime();
+    private final Sink sink;
+    private final Thread drainer;
+
+    private volatile boolean closed;
+    private IOException error;
+
+    // Heap of (time, ring) of the next event of every ring with events to drain
+    private final EventQueue pending;
+
+    /**
+     * @param philosophers Number of philosophers. One more ring is kept for the events of the table,
+     *                     written by the thread running the table.
+     * @param capacity Events per ring, rounded up to a power of two.
+     */
+    public EventLog(int philosophers, int capacity, Sink sink) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) * 2 - 1);
+        this.sink = sink;
+
+        rings = new Ring[philosophers + 1];
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new Ring(this.capacity);
+        }
+        pending = new EventQueue(rings.length);
+
+        drainer = new Thread(this::drain, "event-log");
+        drainer.setDaemon(true);
+    }
+
+    public EventLog start() {
+        drainer.start();
+        return this;
+    }
+
+    /**
+     * Records an event. Must only be called by the one thread writing for the philosopher.
+     * @param philosopher Philosopher id, or the number of philosophers for an event of the table.
+     */
+    public void record(int philosopher, int type, long value) {
+        Ring ring = rings[philosopher];
+        long tail = ring.writerTail;
+        if (tail - ring.writerHead >= capacity) {
+            ring.writerHead = ring.head.get();
+            while (tail - ring.writerHead >= capacity) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK);
+                ring.writerHead = ring.head.get();
+            }
+        }
+
+        int slot = 2 * (int) (tail & ring.mask);
+        ring.slots[slot] = System.nanoTime() - startTime;
+        ring.slots[slot + 1] = ((long) type << TYPE_SHIFT) | (value & VALUE_MASK);
+        ring.writerTail = tail + 1;
+        ring.tail.lazySet(tail + 1);
+    }
+
+    /**
+     * Drains the remaining events, stops the drainer and flushes the sink.
+     * @throws UncheckedIOException If the sink failed.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        drainer.join();
+        if (error != null) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private void drain() {
+        try {
+            boolean last = false;
+            while (!last) {
+                last = closed; // one more pass after close() to get the events recorded before it
+                if (drainOnce() == 0 && !last) {
+                    LockSupport.parkNanos(IDLE_PARK);
+                }
+            }
+            sink.flush();
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Writes the events recorded so far in all rings to the sink, merged by time.
+     * @return Number of events written.
+     */
+    private int drainOnce() throws IOException {
+        for (int i = 0; i < rings.length; i++) {
+            Ring ring = rings[i];
+            ring.readerTail = ring.tail.get();
+            if (ring.readerHead < ring.readerTail) {
+                pending.push(micros(ring), i);
+            }
+        }
+
+        int written = 0;
+        while (!pending.isEmpty()) {
+            int i = pending.pop();
+            Ring ring = rings[i];
+            int slot = 2 * (int) (ring.readerHead & ring.mask);
+            long packed = ring.slots[slot + 1];
+            sink.write(ring.slots[slot], i, (int) (packed >>> TYPE_SHIFT), packed & VALUE_MASK);
+            written++;
+
+            ring.readerHead++;
+            if (ring.readerHead < ring.readerTail) {
+                pending.push(micros(ring), i);
+            } else {
+                ring.head.lazySet(ring.readerHead);
+            }
+        }
+        if (written > 0) {
+            sink.flush();
+        }
+        return written;
+    }
+
+    private long micros(Ring ring) {
+        return ring.slots[2 * (int) (ring.readerHead & ring.mask)] / 1000;
+    }
+
+    /**
+     * @return Value of a recorded PICKED_UP event: the chopstick id, and in the high bits how many times the
+     * chopstick has been picked up, this time included.
+     */
+    public static long pickUp(int chopstick, int sequence) {
+        return (long) sequence << 32 | chopstick;
+    }
+
+    public static int chopstick(long value) {
+        return (int) value;
+    }
+
+    public static int sequence(long value) {
+        return (int) (value >>> 32);
+    }
+
+    /**
+     * Formats an event as the line the philosophers print for it.
+     */
+    public static StringBuilder format(StringBuilder line, int philosopher, int type, long value) {
+        if (type == STOPPING) {
+            return line.append("\n>>> Asking all philosophers to stop\n");
+        }
+        line.append("Philosopher ").append(philosopher);
+        if (type == PICKED_UP) {
+            return line.append(" picked up chopstick ").append(chopstick(value));
+        }
+        if (type == PUT_DOWN) {
+            return line.append(" put down chopstick ").append(chopstick(value));
+        }
+        if (type == HUNGRY_TIME) {
+            return line.append(" was hungry for ").append(value / 1e6);
+        }
+        line.append(" is ").append(PhilosopherState.values()[type].name());
+        if (type != HUNGRY) {
+            line.append(" for ").append(value);
+        }
+        return line;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * File:	EventQueue.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of (time, philosopher) events for the virtual time simulation.
+ * <p>
+ * Each event is one long with the time in the high bits and the philosopher id in the low ID_BITS, so events
+ * at the same time come out in philosopher order and no event objects are allocated.
+ */
+public class EventQueue {
+
+    static final int ID_BITS = 24;
+    static final long MAX_TIME = (1L << (63 - ID_BITS)) - 1;
+
+    private long[] heap;
+    private int size;
+
+    public EventQueue(int capacity) {
+        heap = new long[Math.max(capacity, 1)];
+    }
+
+    public void push(long time, int philosopher) {
+        if (time > MAX_TIME || philosopher >= (1 << ID_BITS)) {
+            throw new IllegalArgumentException("Event out of range: " + time + ", " + philosopher);
+        }
+        long event = (time << ID_BITS) | philosopher;
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = event;
+    }
+
+    /**
+     * @return Time of the earliest event.
+     */
+    public long peekTime() {
+        return heap[0] >>> ID_BITS;
+    }
+
+    /**
+     * Removes the earliest event.
+     * @return Philosopher of the removed event.
+     */
+    public int pop() {
+        long min = heap[0];
+        long last = heap[--size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+
+        return (int) (min & ((1 << ID_BITS) - 1));
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * File:	EventRecorder.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the events of a run to a binary file that EventReplay reads back.
+ * <p>
+ * The file starts with a header (magic, version, number of philosophers, seed, simulation time) followed by
+ * one fixed-width little-endian record per event: time in nanoseconds (long), philosopher (int), type (int)
+ * and value (long), as received from the EventLog. Records are collected in a direct buffer and written to a
+ * FileChannel when it is full or the log flushes, so recording costs the philosophers no more than the ring
+ * store of EventLog.record().
+ */
+public class EventRecorder implements EventLog.Sink, Closeable {
+
+    public static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int MAGIC = 0x44504556; // "DPEV"
+    static final int VERSION = 1;
+
+    // Size in bytes of the header and of one (time, philosopher, type, value) record
+    public static final int HEADER_SIZE = 3 * Integer.BYTES + Integer.BYTES + Long.BYTES;
+    public static final int RECORD_SIZE = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    private static final int BUFFER_RECORDS = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE).order(ORDER);
+
+    private long records;
+
+    /**
+     * @param path File to create or overwrite.
+     * @param simulationTime Simulation time of the run in milliseconds.
+     */
+    public EventRecorder(Path path, int philosophers, int seed, long simulationTime) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(philosophers);
+        buffer.putInt(seed);
+        buffer.putLong(simulationTime);
+    }
+
+    @Override
+    public void write(long time, int philosopher, int type, long value) throws IOException {
+        if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+        buffer.putLong(time);
+        buffer.putInt(philosopher);
+        buffer.putInt(type);
+        buffer.putLong(value);
+        records++;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return Number of events recorded so far.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Writes the buffered events and closes the file. The EventLog writing into the recorder must be closed first.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
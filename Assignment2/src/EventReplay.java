@@ -0,0 +1,247 @@
+/*
+ * File:	EventReplay.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads back a run written by an EventRecorder.
+ * <p>
+ * The events can be handed to any EventLog.Sink, for example a TextSink to print the DEBUG output of a run
+ * after the fact, or to Statistics to rebuild the table of printTable() from the log alone. The order in which
+ * every chopstick was picked up is kept in the log, and ReplayAcquisition makes a new table with the same
+ * seed pick them up in that order again, which re-drives the same interleaving.
+ * <p>
+ * The file is mapped one window at a time, so a log does not have to fit in memory.
+ */
+public class EventReplay {
+
+    // Records mapped at a time, 48 MB of log per window
+    private static final int WINDOW_RECORDS = 2 << 20;
+
+    private final Path path;
+    private final int philosophers;
+    private final int seed;
+    private final long simulationTime;
+    private final long records;
+
+    private EventReplay(Path path, int philosophers, int seed, long simulationTime, long records) {
+        this.path = path;
+        this.philosophers = philosophers;
+        this.seed = seed;
+        this.simulationTime = simulationTime;
+        this.records = records;
+    }
+
+    /**
+     * Reads the header of a recorded run.
+     * @throws IOException If the file is not a recorded run.
+     */
+    public static EventReplay open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < EventRecorder.HEADER_SIZE) {
+                throw new IOException(path + " is not a recorded run");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, EventRecorder.HEADER_SIZE)
+                    .order(EventRecorder.ORDER);
+            if (header.getInt() != EventRecorder.MAGIC) {
+                throw new IOException(path + " is not a recorded run");
+            }
+            int version = header.getInt();
+            if (version != EventRecorder.VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            long records = (channel.size() - EventRecorder.HEADER_SIZE) / EventRecorder.RECORD_SIZE;
+            return new EventReplay(path, header.getInt(), header.getInt(), header.getLong(), records);
+        }
+    }
+
+    public int getNumberOfPhilosophers() {
+        return philosophers;
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Simulation time of the run in milliseconds.
+     */
+    public long getSimulationTime() {
+        return simulationTime;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Hands every recorded event to the sink in the order recorded, then flushes it.
+     */
+    public void replay(EventLog.Sink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = EventRecorder.HEADER_SIZE + records * EventRecorder.RECORD_SIZE;
+            long windowBytes = (long) WINDOW_RECORDS * EventRecorder.RECORD_SIZE;
+
+            for (long position = EventRecorder.HEADER_SIZE; position < end; position += windowBytes) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(windowBytes, end - position));
+                window.order(EventRecorder.ORDER);
+                while (window.hasRemaining()) {
+                    sink.write(window.getLong(), window.getInt(), window.getInt(), window.getLong());
+                }
+            }
+        }
+        sink.flush();
+    }
+
+    /**
+     * @return The table of the run, rebuilt from the log.
+     */
+    public Statistics getStatistics() throws IOException {
+        Statistics statistics = new Statistics(philosophers);
+        replay(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return For every chopstick, the ids of the philosophers that picked it up, in the order they did.
+     */
+    public int[][] getPickUpOrder() throws IOException {
+        int[][] order = new int[philosophers][16];
+        int[] count = new int[philosophers];
+        replay((time, philosopher, type, value) -> {
+            if (type == EventLog.PICKED_UP) {
+                int chopstick = EventLog.chopstick(value);
+                int sequence = EventLog.sequence(value);
+                if (sequence > order[chopstick].length) {
+                    order[chopstick] = Arrays.copyOf(order[chopstick], Math.max(sequence, 2 * order[chopstick].length));
+                }
+                order[chopstick][sequence - 1] = philosopher;
+                count[chopstick] = Math.max(count[chopstick], sequence);
+            }
+        });
+        for (int c = 0; c < philosophers; c++) {
+            order[c] = Arrays.copyOf(order[c], count[c]);
+        }
+        return order;
+    }
+
+    /**
+     * @return A table initialized like the recorded one, whose philosophers pick up the chopsticks in the
+     * recorded order. Its run follows the recording for as long as the recording lasts.
+     */
+    public DiningPhilosopher newReplayTable() throws IOException {
+        DiningPhilosopher dp = new DiningPhilosopher();
+        dp.setNumberOfPhilosophers(philosophers);
+        dp.initialize((int) simulationTime, seed, new ReplayAcquisition(getPickUpOrder()));
+        return dp;
+    }
+
+    /**
+     * Turn counts and times of every philosopher, added up from the events as the philosophers add them up:
+     * a turn is counted when it starts, the time of a thinking turn once the philosopher gets hungry, and
+     * the time of a meal and its hungry time once the meal is over. The turns interrupted by the end of the
+     * run are counted without their time.
+     */
+    public static class Statistics implements EventLog.Sink {
+        // Duration of the current thinking and eating turn, added once the turn is over
+        private final long[] thinking;
+        private final long[] eating;
+
+        private final double[] thinkingTime;
+        private final double[] eatingTime;
+        private final double[] hungryTime;
+        private final int[] thinkingTurns;
+        private final int[] eatingTurns;
+        private final int[] hungryTurns;
+
+        Statistics(int philosophers) {
+            thinking = new long[philosophers];
+            eating = new long[philosophers];
+            thinkingTime = new double[philosophers];
+            eatingTime = new double[philosophers];
+            hungryTime = new double[philosophers];
+            thinkingTurns = new int[philosophers];
+            eatingTurns = new int[philosophers];
+            hungryTurns = new int[philosophers];
+        }
+
+        @Override
+        public void write(long time, int philosopher, int type, long value) {
+            if (type == EventLog.THINKING) {
+                thinkingTurns[philosopher]++;
+                thinking[philosopher] = value;
+            } else if (type == EventLog.EATING) {
+                eatingTurns[philosopher]++;
+                eating[philosopher] = value;
+            } else if (type == EventLog.HUNGRY) {
+                hungryTurns[philosopher]++;
+                thinkingTime[philosopher] += thinking[philosopher];
+            } else if (type == EventLog.HUNGRY_TIME) {
+                eatingTime[philosopher] += eating[philosopher];
+                hungryTime[philosopher] += value / 1e6;
+            }
+        }
+
+        public double getTotalThinkingTime(int philosopher) {
+            return thinkingTime[philosopher];
+        }
+
+        public double getTotalEatingTime(int philosopher) {
+            return eatingTime[philosopher];
+        }
+
+        public double getTotalHungryTime(int philosopher) {
+            return hungryTime[philosopher];
+        }
+
+        public int getNumberOfThinkingTurns(int philosopher) {
+            return thinkingTurns[philosopher];
+        }
+
+        public int getNumberOfEatingTurns(int philosopher) {
+            return eatingTurns[philosopher];
+        }
+
+        public int getNumberOfHungryTurns(int philosopher) {
+            return hungryTurns[philosopher];
+        }
+
+        /**
+         * Prints the table as DiningPhilosopher.printTable() does.
+         */
+        public void printTable() {
+            DiningPhilosopher.printTable(thinkingTime, eatingTime, hungryTime, thinkingTurns, eatingTurns, hungryTurns);
+        }
+    }
+
+    /**
+     * Usage: EventReplay run.events [log]
+     * <p>
+     * Prints the table of a recorded run, and with "log" every event before it.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: EventReplay run.events [log]");
+            return;
+        }
+        EventReplay replay = open(Paths.get(args[0]));
+        if (args.length > 1 && args[1].equals("log")) {
+            replay.replay(new EventLog.TextSink(System.out));
+        }
+        System.out.println(replay.getRecords() + " events of " + replay.getNumberOfPhilosophers()
+                + " philosophers, seed " + replay.getSeed() + ", " + replay.getSimulationTime() + " ms");
+        replay.getStatistics().printTable();
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * File:	ExecutionMode.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * How DiningPhilosopher.start() runs the philosophers.
+ */
+public enum ExecutionMode {
+    /** One platform thread per philosopher, sleeping in real time. */
+    PLATFORM_THREADS,
+    /**
+     * One virtual thread per philosopher, launched in the ODD_EVEN start order by default so that tables of
+     * 100 000 and more start at once and run on a few carrier threads. DiningPhilosopher.start() throws an
+     * IllegalStateException on JVMs without virtual threads.
+     */
+    VIRTUAL_THREADS,
+    /** Discrete-event simulation on the calling thread, the clock jumps from event to event. */
+    VIRTUAL_TIME
+}
@@ -18,10 +18,19 @@ public class Main {
         int seed = 100;
         if(args.length > 0) // check if the parameter is passed as an argument
         	simulationTime = Integer.parseInt(args[0]); // the first parameter is the simulation time
+        if(args.length > 1) // the second parameter is the number of philosophers
+        	dp.setNumberOfPhilosophers(Integer.parseInt(args[1]));
+        if(args.length > 2) // the third parameter is the execution mode, for example VIRTUAL_THREADS
+        	dp.setExecutionMode(ExecutionMode.valueOf(args[2]));
+        if(args.length > 3) // the fourth parameter is the start order, for example SIMULTANEOUS
+        	dp.setStartOrder(StartOrder.valueOf(args[3]));
         
     	dp.initialize(simulationTime, seed); // initialize the required objects
     	dp.start(); // start the simulation process
 
     	dp.printTable();
+    	dp.printLatencies();
+    	dp.getContentionProfile().print();
+    	System.out.println("Meals per second: " + dp.getMealsPerSecond());
     }
 }
\ No newline at end of file
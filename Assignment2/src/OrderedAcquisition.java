@@ -0,0 +1,59 @@
+/*
+ * File:	OrderedAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * Resource ordering: every philosopher takes the chopstick with the lower id first and then the other one,
+ * blocking on each. A cycle of philosophers each waiting for the next would need someone to hold a higher
+ * chopstick while waiting for a lower one, so there is no deadlock. The waiting threads are parked in the
+ * queue of the lock.
+ */
+public class OrderedAcquisition implements AcquisitionStrategy {
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        lockInOrder(philosopher);
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+    }
+
+    /**
+     * Locks the two chopsticks of a philosopher, the one with the lower id first.
+     */
+    static void lockInOrder(Philosopher philosopher) throws InterruptedException {
+        boolean leftFirst = philosopher.getLeftChopstick().getId() < philosopher.getRightChopstick().getId();
+        int first = leftFirst ? ContentionCounters.LEFT : ContentionCounters.RIGHT;
+        int second = leftFirst ? ContentionCounters.RIGHT : ContentionCounters.LEFT;
+
+        lock(philosopher, first);
+        try {
+            lock(philosopher, second);
+        } catch (InterruptedException e) {
+            chopstick(philosopher, first).getLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Locks one chopstick of a philosopher, counting a failed attempt if it has to wait.
+     * @param side ContentionCounters.LEFT or RIGHT.
+     */
+    static void lock(Philosopher philosopher, int side) throws InterruptedException {
+        Chopstick chopstick = chopstick(philosopher, side);
+        if (!chopstick.getLock().tryLock()) {
+            philosopher.getContention().failed(side);
+            chopstick.getLock().lockInterruptibly();
+        }
+    }
+
+    private static Chopstick chopstick(Philosopher philosopher, int side) {
+        return side == ContentionCounters.LEFT ? philosopher.getLeftChopstick() : philosopher.getRightChopstick();
+    }
+}
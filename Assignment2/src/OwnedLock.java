@@ -0,0 +1,21 @@
+/*
+ * File:	OwnedLock.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ReentrantLock that tells which thread holds it, so the Watchdog can see who holds a chopstick without
+ * taking its lock. The owner is read without synchronization and may be out of date by the time it is used.
+ */
+public class OwnedLock extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Thread getOwner() {
+        return super.getOwner();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * File:	PairCasAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.List;
+
+/**
+ * Takes both chopsticks of a philosopher from a ChopstickTable with one compare-and-set when they share a
+ * word, so there is no lock object and nothing to put back when a neighbour was faster.
+ * <p>
+ * The few philosophers whose chopsticks are in different words take the lower chopstick first and hold it
+ * while waiting for the other one. A philosopher taking both at once never holds one while waiting, so
+ * nobody ever waits for a lower chopstick while holding a higher one, and there is no deadlock.
+ * <p>
+ * The chopsticks must be backed by one table, see DiningPhilosopher.setLockFreeChopsticks().
+ */
+public class PairCasAcquisition implements AcquisitionStrategy {
+
+    private ChopstickTable table;
+
+    @Override
+    public void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+        for (Chopstick c : chopsticks) {
+            if (!(c.getLock() instanceof BitLock)
+                    || (table != null && ((BitLock) c.getLock()).getTable() != table)) {
+                throw new IllegalArgumentException("Chopsticks are not backed by one ChopstickTable");
+            }
+            table = ((BitLock) c.getLock()).getTable();
+        }
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        int left = philosopher.getLeftChopstick().getId();
+        int right = philosopher.getRightChopstick().getId();
+
+        ContentionCounters contention = philosopher.getContention();
+
+        if (ChopstickTable.sameWord(left, right)) {
+            for (int attempt = 0; !table.tryTakeBoth(left, right); attempt++) {
+                contention.failed(table.isTaken(left) ? ContentionCounters.LEFT : ContentionCounters.RIGHT);
+                pause(attempt);
+            }
+            return;
+        }
+
+        int first = Math.min(left, right);
+        int second = Math.max(left, right);
+        for (int attempt = 0; !table.tryTake(first); attempt++) {
+            contention.failed(first == left ? ContentionCounters.LEFT : ContentionCounters.RIGHT);
+            pause(attempt);
+        }
+        try {
+            for (int attempt = 0; !table.tryTake(second); attempt++) {
+                contention.failed(second == left ? ContentionCounters.LEFT : ContentionCounters.RIGHT);
+                pause(attempt);
+            }
+        } catch (InterruptedException e) {
+            table.put(first);
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        table.putBoth(philosopher.getLeftChopstick().getId(), philosopher.getRightChopstick().getId());
+    }
+
+    private static void pause(int attempt) throws InterruptedException {
+        BitLock.pause(attempt);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * File:	ParameterSweep.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs a grid of DiningPhilosopher simulations in one JVM and writes one CSV row per configuration.
+ * <p>
+ * Every combination of table size, seed, simulation time and acquisition strategy is a separate
+ * DiningPhilosopher with its own philosophers, chopsticks and executor. At most parallelism simulations run
+ * at the same time, by default one per core, so the configurations share the cores fairly instead of
+ * slowing each other down. In VIRTUAL_TIME a configuration takes milliseconds, and the strategy does not
+ * matter since the simulation always serves a philosopher as soon as both its chopsticks are free.
+ * <p>
+ * The rows are written in grid order, whatever order the simulations finish in.
+ */
+public class ParameterSweep {
+
+    /**
+     * Strategies by the names used on the command line.
+     */
+    static final Map<String, Supplier<AcquisitionStrategy>> STRATEGIES = new LinkedHashMap<String, Supplier<AcquisitionStrategy>>();
+
+    static {
+        STRATEGIES.put("spin", SpinAcquisition::new);
+        STRATEGIES.put("spin-then-park", SpinThenParkAcquisition::new);
+        STRATEGIES.put("backoff", BackoffAcquisition::new);
+        STRATEGIES.put("ordered", OrderedAcquisition::new);
+        STRATEGIES.put("waiter", WaiterAcquisition::new);
+        STRATEGIES.put("chandy-misra", ChandyMisraAcquisition::new);
+        STRATEGIES.put("ticket", TicketAcquisition::new);
+        STRATEGIES.put("pair-cas", PairCasAcquisition::new);
+    }
+
+    private static final String HEADER = "philosophers,seed,simulation_time,strategy,mode,meals,meals_per_second,"
+            + "fairness,average_thinking_time,average_eating_time,average_hungry_time,"
+            + "p50_hunger_latency_ms,p99_hunger_latency_ms,max_hunger_latency_ms";
+
+    private final List<Integer> sizes = new ArrayList<Integer>();
+    private final List<Integer> seeds = new ArrayList<Integer>();
+    private final List<Integer> simulationTimes = new ArrayList<Integer>();
+    private final List<String> strategies = new ArrayList<String>();
+
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM_THREADS;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public ParameterSweep addSize(int philosophers) {
+        sizes.add(philosophers);
+        return this;
+    }
+
+    public ParameterSweep addSeed(int seed) {
+        seeds.add(seed);
+        return this;
+    }
+
+    /**
+     * @param simulationTime Simulation time in milliseconds.
+     */
+    public ParameterSweep addSimulationTime(int simulationTime) {
+        simulationTimes.add(simulationTime);
+        return this;
+    }
+
+    /**
+     * @param name One of the names in STRATEGIES, for example "ticket".
+     */
+    public ParameterSweep addStrategy(String name) {
+        if (!STRATEGIES.containsKey(name)) {
+            throw new IllegalArgumentException("Unknown strategy " + name + ", expected one of " + STRATEGIES.keySet());
+        }
+        strategies.add(name);
+        return this;
+    }
+
+    public ParameterSweep setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+        return this;
+    }
+
+    /**
+     * @param parallelism Simulations running at the same time.
+     */
+    public ParameterSweep setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @return Number of configurations in the grid, at least one of each list is assumed.
+     */
+    public int size() {
+        return Math.max(1, sizes.size()) * Math.max(1, seeds.size()) * Math.max(1, simulationTimes.size())
+                * Math.max(1, strategies.size());
+    }
+
+    /**
+     * Runs every configuration and writes the results.
+     * @param results CSV file to create or overwrite, with a header and one row per configuration.
+     */
+    public void run(Path results) throws IOException, InterruptedException {
+        List<Integer> sizes = this.sizes.isEmpty() ? List.of(5) : this.sizes;
+        List<Integer> seeds = this.seeds.isEmpty() ? List.of(0) : this.seeds;
+        List<Integer> simulationTimes = this.simulationTimes.isEmpty() ? List.of(10000) : this.simulationTimes;
+        List<String> strategies = this.strategies.isEmpty() ? List.of("spin") : this.strategies;
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try (BufferedWriter out = Files.newBufferedWriter(results)) {
+            List<Future<String>> rows = new ArrayList<Future<String>>(size());
+            for (int size : sizes) {
+                for (int seed : seeds) {
+                    for (int simulationTime : simulationTimes) {
+                        for (String strategy : strategies) {
+                            rows.add(pool.submit(() -> simulate(size, seed, simulationTime, strategy)));
+                        }
+                    }
+                }
+            }
+
+            out.write(HEADER);
+            out.newLine();
+            for (Future<String> row : rows) {
+                out.write(get(row));
+                out.newLine();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String get(Future<String> row) throws InterruptedException {
+        try {
+            return row.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Runs one configuration.
+     * @return CSV row of the results.
+     */
+    private String simulate(int size, int seed, int simulationTime, String strategy) throws InterruptedException {
+        DiningPhilosopher dp = new DiningPhilosopher();
+        dp.setDebug(false);
+        dp.setNumberOfPhilosophers(size);
+        dp.setExecutionMode(executionMode);
+        dp.setLockFreeChopsticks(strategy.equals("pair-cas"));
+        dp.initialize(simulationTime, seed, STRATEGIES.get(strategy).get());
+        dp.start();
+
+        long meals = 0;
+        long thinkingTurns = 0;
+        long eatingTurns = 0;
+        long hungryTurns = 0;
+        double thinkingTime = 0;
+        double eatingTime = 0;
+        double hungryTime = 0;
+        for (Philosopher p : dp.getPhilosophers()) {
+            meals += p.getNumberOfEatingTurns();
+            thinkingTurns += p.getNumberOfThinkingTurns();
+            eatingTurns += p.getNumberOfEatingTurns();
+            hungryTurns += p.getNumberOfHungryTurns();
+            thinkingTime += p.getTotalThinkingTime();
+            eatingTime += p.getTotalEatingTime();
+            hungryTime += p.getTotalHungryTime();
+        }
+        DurationHistogram latency = dp.getMetrics().getHungry();
+
+        return size + "," + seed + "," + simulationTime + "," + strategy + "," + executionMode + ","
+                + meals + "," + dp.getMealsPerSecond() + "," + dp.getFairnessIndex() + ","
+                + thinkingTime / thinkingTurns + "," + eatingTime / eatingTurns + "," + hungryTime / hungryTurns + ","
+                + latency.getPercentile(50) / 1e6 + "," + latency.getPercentile(99) / 1e6 + ","
+                + latency.getMax() / 1e6;
+    }
+
+    /**
+     * Usage: ParameterSweep results.csv sizes seeds simulationTimes strategies [mode [parallelism]]
+     * <p>
+     * Lists are comma separated, and seeds may also be a range, for example:
+     * ParameterSweep results.csv 5,9,21 0-99 3000,10000 spin,ticket VIRTUAL_TIME
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 5) {
+            System.out.println("Usage: ParameterSweep results.csv sizes seeds simulationTimes strategies [mode [parallelism]]");
+            System.out.println("Strategies: " + STRATEGIES.keySet());
+            return;
+        }
+
+        ParameterSweep sweep = new ParameterSweep();
+        for (String size : args[1].split(",")) {
+            sweep.addSize(Integer.parseInt(size));
+        }
+        for (String seeds : args[2].split(",")) {
+            int dash = seeds.indexOf('-', 1);
+            int first = Integer.parseInt(dash < 0 ? seeds : seeds.substring(0, dash));
+            int last = dash < 0 ? first : Integer.parseInt(seeds.substring(dash + 1));
+            for (int seed = first; seed <= last; seed++) {
+                sweep.addSeed(seed);
+            }
+        }
+        for (String simulationTime : args[3].split(",")) {
+            sweep.addSimulationTime(Integer.parseInt(simulationTime));
+        }
+        for (String strategy : args[4].split(",")) {
+            sweep.addStrategy(strategy);
+        }
+        if (args.length > 5) {
+            sweep.setExecutionMode(ExecutionMode.valueOf(args[5]));
+        }
+        if (args.length > 6) {
+            sweep.setParallelism(Integer.parseInt(args[6]));
+        }
+
+        long start = System.currentTimeMillis();
+        sweep.run(Paths.get(args[0]));
+        System.out.println(sweep.size() + " configurations in " + (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -7,6 +7,7 @@
  */
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 public class Philosopher implements Runnable {
 
@@ -23,27 +24,65 @@ public class Philosopher implements Runnable {
     private final Chopstick leftChopstick;
     private final Chopstick rightChopstick;
     private volatile boolean running;
-    private PhilosopherState currentState;
+    private volatile PhilosopherState currentState;
+
+    // Thread running the philosopher and System.nanoTime() of the last time it became hungry, for the Watchdog
+    private volatile Thread thread;
+    private volatile long hungrySince;
 
     private Random randomGenerator = new Random();
 
-    private int numberOfEatingTurns = 0;
-    private int numberOfThinkingTurns = 0;
-    private int numberOfHungryTurns = 0;
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    /*
+     * Timeline of the run, see setTimeline(): System.nanoTime() at time 0, the time in milliseconds at which
+     * the current turn started, and the time from which no turn is counted. Written by the philosopher's
+     * thread only once it runs.
+     */
+    private long epoch;
+    private long clock = 0;
+    private long cut = Long.MAX_VALUE;
+    private boolean onTimeline = false;
+
+    /*
+     * Written by the philosopher's thread only, volatile so that the table can be read while it runs.
+     */
+    private volatile int numberOfEatingTurns = 0;
+    private volatile int numberOfThinkingTurns = 0;
+    private volatile int numberOfHungryTurns = 0;
+
+    private volatile double thinkingTime = 0;
+    private volatile double eatingTime = 0;
+    private volatile double hungryTime = 0;
 
-    private double thinkingTime = 0;
-    private double eatingTime = 0;
-    private double hungryTime = 0;
-    private boolean canEat;
+    private final PhilosopherMetrics metrics = new PhilosopherMetrics();
+    private final ContentionCounters contention = new ContentionCounters();
+
+    // How the chopsticks are picked up, shared by the whole table
+    private final AcquisitionStrategy acquisitionStrategy;
+
+    // Yield the thread between two attempts to pick up the chopsticks
+    private boolean yieldWhileWaiting;
+
+    // Log receiving the DEBUG output, null to print it directly
+    private EventLog eventLog;
+
+    // Log recording every event whatever DEBUG is, null when the run is not recorded
+    private EventLog recording;
 
     public Philosopher(int id, Chopstick leftChopstick, Chopstick rightChopstick, int seed, boolean debug) {
+        this(id, leftChopstick, rightChopstick, seed, debug, new SpinAcquisition());
+    }
+
+    public Philosopher(int id, Chopstick leftChopstick, Chopstick rightChopstick, int seed, boolean debug,
+                       AcquisitionStrategy acquisitionStrategy) {
         this.id = id;
+        this.acquisitionStrategy = acquisitionStrategy;
         this.leftChopstick = leftChopstick;
         this.rightChopstick = rightChopstick;
         this.running = true;
         this.DEBUG = debug;
         currentState = PhilosopherState.Thinking;
-        canEat = false;
 
         randomGenerator.setSeed(id + seed);
     }
@@ -89,48 +128,151 @@ public class Philosopher implements Runnable {
         return hungryTime;
     }
 
+    /**
+     * @return Contention on the chopsticks, only to be read once the philosopher has stopped.
+     */
+    public ContentionCounters getContention() {
+        return contention;
+    }
+
+    public PhilosopherState getCurrentState() {
+        return currentState;
+    }
+
+    Thread getThread() {
+        return thread;
+    }
+
+    long getHungrySince() {
+        return hungrySince;
+    }
+
+    /**
+     * @return Live durations of the turns in nanoseconds, take a snapshot() to read them while running.
+     */
+    public PhilosopherMetrics getMetrics() {
+        return metrics;
+    }
+
 
     /**
      * Simulates thinking by incrementing turn and calculating a specific amount of time to be waited.
      * Sleeps for a while then adds the time slept to global thinking-time.
+     * @return Whether the philosopher thought for the whole time, false if it was interrupted.
      */
-    private void think() {
-        numberOfThinkingTurns++;
-        currentState = PhilosopherState.Thinking;
-        long waitTime = randomGenerator.nextInt(1000);
-        printState(currentState, waitTime);
+    private boolean think() {
+        long start = System.nanoTime();
+        long waitTime = startThinking();
+        long end = clock + waitTime;
         try {
-            Thread.sleep(waitTime);
+            sleepUntil(Math.min(end, cut));
         } catch (InterruptedException e) {
+            // Asked to stop: the turn is counted, its time is not, as for a turn still running at the end.
+            Thread.currentThread().interrupt();
+            return false;
         }
-        thinkingTime += waitTime;
+        if (end >= cut) {
+            clock = cut; // Still thinking at the cut.
+            return false;
+        }
+        clock = end;
+        finishThinking(waitTime, System.nanoTime() - start);
+        return true;
     }
 
 
     /**
      * Sets current state to hungry and increments hungry-turns.
      */
-    private void hungry() {
+    void hungry() {
         numberOfHungryTurns++;
         currentState = PhilosopherState.Hungry;
+        record(EventLog.HUNGRY, 0);
         if(DEBUG){
-            System.out.println("Philosopher " + getId() + " is " + currentState.name());
+            log(EventLog.HUNGRY, 0);
         }
     }
 
     /**
      * Increments the number of turns eating and sleeps for a specified amount of time.
+     * @return Whether the philosopher ate for the whole time, false if it was interrupted.
      */
-    private void eat() {
+    private boolean eat() {
+        long start = System.nanoTime();
+        long waitTime = startEating();
+        long end = clock + waitTime;
+        try {
+            sleepUntil(Math.min(end, cut));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (end >= cut) {
+            clock = cut; // Still eating at the cut.
+            return false;
+        }
+        clock = end;
+        finishEating(waitTime, System.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Sleeps until the given time on the timeline, without sleeping if it has already passed.
+     */
+    private void sleepUntil(long time) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(epoch + time * NANOS_PER_MILLI - System.nanoTime());
+    }
+
+    /*
+     * The turns below are split into a start, which counts the turn and draws its duration, and a finish,
+     * which adds the duration once it has passed. The threads sleep in between, the virtual time
+     * simulation schedules the finish as an event instead. The finish also records the duration measured
+     * in nanoseconds into the metrics.
+     */
+
+    long startThinking() {
+        numberOfThinkingTurns++;
+        currentState = PhilosopherState.Thinking;
+        long waitTime = randomGenerator.nextInt(1000);
+        printState(currentState, waitTime);
+        return waitTime;
+    }
+
+    void finishThinking(long waitTime, long nanos) {
+        thinkingTime += waitTime;
+        metrics.getThinking().record(nanos);
+    }
+
+    long startEating() {
         numberOfEatingTurns++;
         currentState = PhilosopherState.Eating;
         long waitTime = randomGenerator.nextInt(1000);
         printState(currentState, waitTime);
-        try {
-            Thread.sleep(waitTime);
-        } catch (InterruptedException e) {
-        }
+        return waitTime;
+    }
+
+    void finishEating(long waitTime, long nanos) {
         eatingTime += waitTime;
+        metrics.getEating().record(nanos);
+    }
+
+    /**
+     * Records the time from becoming hungry to holding both chopsticks.
+     */
+    void acquired(long nanos) {
+        metrics.getHungry().record(nanos);
+    }
+
+    void finishHungry(long hungryTime) {
+        this.hungryTime += hungryTime;
+    }
+
+    Chopstick getLeftChopstick() {
+        return leftChopstick;
+    }
+
+    Chopstick getRightChopstick() {
+        return rightChopstick;
     }
 
     /**
@@ -139,13 +281,80 @@ public class Philosopher implements Runnable {
      * @param time amount of time spent doing so.
      */
     public void printState(PhilosopherState state, long time) {
+        record(state.ordinal(), time);
         if (DEBUG) {
-            System.out.println("Philosopher " + getId() + " is " + state.name() + " for " + time);
+            log(state.ordinal(), time);
         }
     }
 
+    /**
+     * Records an event in the event log, or prints it if there is no log.
+     */
+    void log(int type, long value) {
+        if (eventLog != null) {
+            eventLog.record(id, type, value);
+        } else {
+            System.out.println(EventLog.format(new StringBuilder(), id, type, value));
+        }
+    }
+
+    private void record(int type, long value) {
+        if (recording != null) {
+            recording.record(id, type, value);
+        }
+    }
+
+    /**
+     * Records every event of the philosopher, and every pick-up with its number, in a log written to an
+     * EventRecorder. Must be set before the philosopher runs.
+     */
+    void setRecording(EventLog recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Sends the DEBUG output to a log drained by another thread instead of printing it while the
+     * chopsticks are held. Must be set before the philosopher runs.
+     */
+    void setEventLog(EventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+
+    /**
+     * Puts the philosopher on the timeline of its table, the clock of VirtualTimeSimulation kept in real time.
+     * The philosopher starts thinking at time start, in milliseconds after epoch (a System.nanoTime()), sleeps
+     * until each turn ends on the timeline instead of for its length, and starts a meal when it became hungry
+     * or when the chopsticks were put down on the timeline, whichever is later. A late wake-up or hand-off
+     * therefore does not move the following turns. No turn starts from time cut on, and a turn still running
+     * at cut is counted without its time, so the table at the cut is the virtual time table unless two turns
+     * end within the latency of the threads of each other. Without a timeline the philosopher starts at 0
+     * when it runs and has no cut. Must be set before the philosopher runs.
+     */
+    void setTimeline(long epoch, long start, long cut) {
+        this.epoch = epoch;
+        this.clock = start;
+        this.cut = cut;
+        onTimeline = true;
+    }
+
+    /**
+     * Makes the philosopher yield between two attempts to pick up its chopsticks, so that a virtual thread
+     * waiting for its chopsticks gives its carrier thread to the others instead of spinning on it.
+     */
+    void setYieldWhileWaiting(boolean yieldWhileWaiting) {
+        this.yieldWhileWaiting = yieldWhileWaiting;
+    }
 
-    synchronized void shutdown(){
+    boolean isYieldWhileWaiting() {
+        return yieldWhileWaiting;
+    }
+
+    /**
+     * Asks the philosopher to stop after its current turn. The table also interrupts its thread, which ends
+     * the turn at once.
+     */
+    void shutdown(){
         running = false;
         DEBUG = false;
     }
@@ -153,44 +362,85 @@ public class Philosopher implements Runnable {
      * Simulates the lifecycle of the thread.
      *
      * Starts by thinking -> becoming hungry -> aquiring chopsticks and then finally eat.
+     * Stops when shut down or interrupted, or at the cut of its timeline. An interrupted turn is counted
+     * without its time, and the hungry time of a meal, from becoming hungry to the end of the meal on the
+     * timeline, is only added once the meal is over.
      */
     @Override
     public void run() {
-        while (running) {
-            think();
-            long startHungry = System.currentTimeMillis();
+        thread = Thread.currentThread();
+        if (!onTimeline) {
+            epoch = System.nanoTime();
+        }
+        while (running && !Thread.currentThread().isInterrupted() && clock < cut) {
+            if (!think()) {
+                break;
+            }
+            long startHungry = System.nanoTime();
+            hungrySince = startHungry;
+            long hungryAt = clock;
             hungry();
-            getChopSticks();
-            this.hungryTime += System.currentTimeMillis()-startHungry;
+            if (getChopSticks(startHungry)) {
+                long hungryMillis = clock - hungryAt;
+                this.hungryTime += hungryMillis;
+                record(EventLog.HUNGRY_TIME, hungryMillis * NANOS_PER_MILLI);
+            }
         }
         printState(PhilosopherState.Finished, 0);
     }
 
     /**
-     * Fetches the chopsticks by continuously picking up the first, then trying for the second.
-     * If the second is not available it returns the left and tries again.
-     */
-    private void getChopSticks() {
-        while (!canEat) {
-            if (leftChopstick.getLock().tryLock()) {
-                if (rightChopstick.getLock().tryLock()) {
-                    canEat = true;
-                    if(DEBUG) {
-                        System.out.println("Philosopher " + getId() + " picked up chopstick " + leftChopstick.getId());
-                        System.out.println("Philosopher " + getId() + " picked up chopstick " + rightChopstick.getId());
-                    }
-                    eat();
-                    // Unlock right and left after eating.
-                    rightChopstick.getLock().unlock();
-                    leftChopstick.getLock().unlock();
-                } else {
-                    // Unlock left if right not available.
-                    leftChopstick.getLock().unlock();
-                }
-                // Loop back and try again.
-            }
+     * Fetches the chopsticks, eats and puts them down again.
+     * @param startHungry System.nanoTime() when the philosopher became hungry.
+     * @return Whether the philosopher ate its whole meal, false if it was interrupted.
+     */
+    private boolean getChopSticks(long startHungry) {
+        try {
+            pickUpChopSticks();
+        } catch (InterruptedException e) {
+            // Asked to stop while waiting, leave hungry without a chopstick.
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        clock = Math.max(clock, Math.max(leftChopstick.getPutDownAt(), rightChopstick.getPutDownAt()));
+        if (!running || Thread.currentThread().isInterrupted() || clock >= cut) {
+            // Stopped while picking them up: no meal starts after the stop, put them back down.
+            putDownChopSticks();
+            return false;
+        }
+        long acquiredAt = System.nanoTime();
+        contention.acquired(acquiredAt);
+        acquired(acquiredAt - startHungry);
+        boolean ate = eat();
+        putDownChopSticks();
+        contention.released(System.nanoTime());
+        // Go back to thinking
+        return ate;
+    }
+
+    /**
+     * Picks up both chopsticks with the acquisition strategy of the table.
+     */
+    void pickUpChopSticks() throws InterruptedException {
+        acquisitionStrategy.acquire(this);
+        if (recording != null) {
+            recording.record(id, EventLog.PICKED_UP, EventLog.pickUp(leftChopstick.getId(), leftChopstick.pickedUp()));
+            recording.record(id, EventLog.PICKED_UP, EventLog.pickUp(rightChopstick.getId(), rightChopstick.pickedUp()));
         }
-        canEat = false;
-        // Reset canEat and go back to thinking
+        if(DEBUG) {
+            log(EventLog.PICKED_UP, leftChopstick.getId());
+            log(EventLog.PICKED_UP, rightChopstick.getId());
+        }
+    }
+
+    /**
+     * Puts down both chopsticks after eating.
+     */
+    void putDownChopSticks() {
+        record(EventLog.PUT_DOWN, leftChopstick.getId());
+        record(EventLog.PUT_DOWN, rightChopstick.getId());
+        leftChopstick.setPutDownAt(clock);
+        rightChopstick.setPutDownAt(clock);
+        acquisitionStrategy.release(this);
     }
 }
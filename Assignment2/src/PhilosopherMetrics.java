@@ -0,0 +1,60 @@
+/*
+ * File:	PhilosopherMetrics.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * Durations of the turns of one philosopher, in nanoseconds.
+ * <p>
+ * Recorded by the philosopher's own thread only, so every philosopher is a stripe of the table's metrics
+ * and recording never contends. Readers take a snapshot(), live or after the run.
+ */
+public class PhilosopherMetrics {
+
+    private final DurationHistogram thinking;
+    private final DurationHistogram hungry;
+    private final DurationHistogram eating;
+
+    public PhilosopherMetrics() {
+        this(new DurationHistogram(), new DurationHistogram(), new DurationHistogram());
+    }
+
+    private PhilosopherMetrics(DurationHistogram thinking, DurationHistogram hungry, DurationHistogram eating) {
+        this.thinking = thinking;
+        this.hungry = hungry;
+        this.eating = eating;
+    }
+
+    public DurationHistogram getThinking() {
+        return thinking;
+    }
+
+    /**
+     * @return Time from becoming hungry to holding both chopsticks, the latency of the acquisition.
+     */
+    public DurationHistogram getHungry() {
+        return hungry;
+    }
+
+    public DurationHistogram getEating() {
+        return eating;
+    }
+
+    /**
+     * @return Copy of the metrics, safe to take while the philosopher runs.
+     */
+    public PhilosopherMetrics snapshot() {
+        return new PhilosopherMetrics(thinking.snapshot(), hungry.snapshot(), eating.snapshot());
+    }
+
+    /**
+     * Adds the durations of another philosopher, to sum a table. Only for snapshots.
+     */
+    public void merge(PhilosopherMetrics other) {
+        thinking.merge(other.thinking);
+        hungry.merge(other.hungry);
+        eating.merge(other.eating);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * File:	ReplayAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Picks up the chopsticks in an order given in advance, usually the order recorded in an earlier run
+ * (see EventReplay.getPickUpOrder()).
+ * <p>
+ * A philosopher eats when both its chopsticks are free and it is the next philosopher to pick up each of them.
+ * The recorded order comes from a real run, where every meal held both its chopsticks, so some philosopher can
+ * always go on and the replay does not deadlock. With the same seed every philosopher thinks and eats for the
+ * same times, so the run follows the recorded one meal for meal. Once a chopstick's recorded order is used up
+ * it goes to whichever neighbour asks, as with the other strategies.
+ * <p>
+ * The order and chopsticks are guarded by one lock, and every philosopher waits on its own condition,
+ * signalled when a neighbour puts its chopsticks down.
+ */
+public class ReplayAcquisition implements AcquisitionStrategy {
+
+    // Chopstick id -> philosopher ids in pick-up order, and the index of the next pick-up
+    private final int[][] order;
+    private final int[] next;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Chopstick id -> in use
+    private boolean[] taken;
+    // Philosopher id -> condition signalled when a neighbour releases
+    private Condition[] changed;
+
+    private List<Philosopher> philosophers;
+
+    /**
+     * @param order For every chopstick, the ids of the philosophers to pick it up, in order.
+     */
+    public ReplayAcquisition(int[][] order) {
+        this.order = order;
+        this.next = new int[order.length];
+    }
+
+    @Override
+    public void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+        if (chopsticks.size() != order.length) {
+            throw new IllegalArgumentException("Order of " + order.length + " chopsticks for a table of "
+                    + chopsticks.size());
+        }
+        this.philosophers = philosophers;
+        taken = new boolean[chopsticks.size()];
+        changed = new Condition[philosophers.size()];
+        for (int i = 0; i < changed.length; i++) {
+            changed[i] = lock.newCondition();
+        }
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        int left = philosopher.getLeftChopstick().getId();
+        int right = philosopher.getRightChopstick().getId();
+
+        lock.lock();
+        try {
+            int side;
+            while ((side = blockedSide(philosopher.getId(), left, right)) >= 0) {
+                philosopher.getContention().failed(side);
+                changed[philosopher.getId()].await();
+            }
+            taken[left] = true;
+            taken[right] = true;
+            next[left]++;
+            next[right]++;
+        } finally {
+            lock.unlock();
+        }
+
+        // Free by now, locked so that the chopsticks show their owner.
+        philosopher.getLeftChopstick().getLock().lock();
+        philosopher.getRightChopstick().getLock().lock();
+    }
+
+    /**
+     * @return The side (ContentionCounters.LEFT or RIGHT) keeping the philosopher from eating, -1 if none.
+     */
+    private int blockedSide(int id, int left, int right) {
+        if (blocked(id, left)) {
+            return ContentionCounters.LEFT;
+        }
+        if (blocked(id, right)) {
+            return ContentionCounters.RIGHT;
+        }
+        return -1;
+    }
+
+    private boolean blocked(int id, int chopstick) {
+        return taken[chopstick] || (next[chopstick] < order[chopstick].length && order[chopstick][next[chopstick]] != id);
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+
+        int n = philosophers.size();
+        int left = philosopher.getLeftChopstick().getId();
+        int right = philosopher.getRightChopstick().getId();
+        lock.lock();
+        try {
+            taken[left] = false;
+            taken[right] = false;
+            // Chopstick c is the right one of philosopher c and the left one of philosopher c - 1.
+            changed[left].signal();
+            changed[(right - 1 + n) % n].signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * File:	ResourceGraph.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Contenders and the sets of resources each of them needs to hold at once, the general form of the
+ * philosophers and their two chopsticks.
+ * <p>
+ * The sets are kept in compressed sparse row (CSR) form: the resources of contender c are
+ * resources[offsets[c]] to resources[offsets[c + 1] - 1]. The reverse index, the contenders using each
+ * resource, is kept the same way, so both directions are two int arrays and a million contenders with a
+ * handful of resources each take a few tens of megabytes.
+ * <p>
+ * Two contenders conflict when they share a resource. colour() colours this conflict graph so that
+ * contenders of the same colour never conflict, and every colour class can eat at the same time.
+ */
+public class ResourceGraph {
+
+    private final int resourceCount;
+
+    // Contender -> resources, CSR
+    private final int[] offsets;
+    private final int[] resources;
+
+    // Resource -> contenders, CSR
+    private final int[] userOffsets;
+    private final int[] users;
+
+    private ResourceGraph(int resourceCount, int[] offsets, int[] resources) {
+        this.resourceCount = resourceCount;
+        this.offsets = offsets;
+        this.resources = resources;
+
+        userOffsets = new int[resourceCount + 1];
+        for (int r : resources) {
+            userOffsets[r + 1]++;
+        }
+        for (int r = 0; r < resourceCount; r++) {
+            userOffsets[r + 1] += userOffsets[r];
+        }
+        users = new int[resources.length];
+        int[] next = Arrays.copyOf(userOffsets, resourceCount);
+        for (int c = 0; c < getContenderCount(); c++) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                users[next[resources[i]]++] = c;
+            }
+        }
+    }
+
+    /**
+     * The dining philosophers: contender i needs resources i and (i + 1) % n, its right and left chopstick
+     * in DiningPhilosopher.
+     */
+    public static ResourceGraph ring(int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("A ring needs at least 2 contenders: " + n);
+        }
+        Builder builder = new Builder(n, n, 2 * n);
+        for (int i = 0; i < n; i++) {
+            builder.addContender(i, (i + 1) % n);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Transactions needing k of m shared locks: every contender needs k different resources drawn uniformly.
+     */
+    public static ResourceGraph random(int contenders, int resourceCount, int k, long seed) {
+        if (k < 1 || k > resourceCount) {
+            throw new IllegalArgumentException("Cannot draw " + k + " of " + resourceCount + " resources");
+        }
+        Random random = new Random(seed);
+        Builder builder = new Builder(resourceCount, contenders, (long) contenders * k);
+        int[] set = new int[k];
+        for (int c = 0; c < contenders; c++) {
+            for (int i = 0; i < k; i++) {
+                set[i] = random.nextInt(resourceCount);
+                for (int j = 0; j < i; j++) {
+                    if (set[j] == set[i]) {
+                        i--; // drawn already, draw again
+                        break;
+                    }
+                }
+            }
+            builder.addContender(set);
+        }
+        return builder.build();
+    }
+
+    public int getContenderCount() {
+        return offsets.length - 1;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    /*
+     * The sets are read in place, between a from (inclusive) and to (exclusive) index, to keep
+     * the simulation free of allocations.
+     */
+
+    int resourcesFrom(int contender) {
+        return offsets[contender];
+    }
+
+    int resourcesTo(int contender) {
+        return offsets[contender + 1];
+    }
+
+    int resource(int index) {
+        return resources[index];
+    }
+
+    int usersFrom(int resource) {
+        return userOffsets[resource];
+    }
+
+    int usersTo(int resource) {
+        return userOffsets[resource + 1];
+    }
+
+    int user(int index) {
+        return users[index];
+    }
+
+    /**
+     * @return The resources of a contender, in the order they were declared.
+     */
+    public int[] getResources(int contender) {
+        return Arrays.copyOfRange(resources, offsets[contender], offsets[contender + 1]);
+    }
+
+    /**
+     * @return The contenders using a resource, in increasing order.
+     */
+    public int[] getUsers(int resource) {
+        return Arrays.copyOfRange(users, userOffsets[resource], userOffsets[resource + 1]);
+    }
+
+    /**
+     * @return Whether two different contenders share a resource.
+     */
+    public boolean conflict(int a, int b) {
+        if (a == b) {
+            return false;
+        }
+        for (int i = offsets[a]; i < offsets[a + 1]; i++) {
+            for (int j = userOffsets[resources[i]]; j < userOffsets[resources[i] + 1]; j++) {
+                if (users[j] == b) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Greedy colouring of the conflict graph: every contender, in increasing order, gets the smallest colour
+     * none of the contenders it conflicts with has. Uses at most one colour more than the most conflicts of
+     * a contender, and colour 0 is a maximal set of contenders that can eat at the same time.
+     * @return Contender -> colour, from 0 to the number of colours - 1.
+     */
+    public int[] colour() {
+        int n = getContenderCount();
+        int[] colour = new int[n];
+        // Colour -> last contender that saw it used by a neighbour
+        int[] usedBy = new int[1];
+        Arrays.fill(usedBy, -1);
+
+        for (int c = 0; c < n; c++) {
+            for (int i = offsets[c]; i < offsets[c + 1]; i++) {
+                for (int j = userOffsets[resources[i]]; j < userOffsets[resources[i] + 1]; j++) {
+                    int other = users[j];
+                    if (other < c) {
+                        usedBy[colour[other]] = c;
+                    }
+                }
+            }
+            int free = 0;
+            while (free < usedBy.length && usedBy[free] == c) {
+                free++;
+            }
+            if (free == usedBy.length) {
+                usedBy = Arrays.copyOf(usedBy, 2 * usedBy.length);
+                Arrays.fill(usedBy, free, usedBy.length, -1);
+            }
+            colour[c] = free;
+        }
+        return colour;
+    }
+
+    /**
+     * Collects the resource sets of the contenders in CSR form.
+     */
+    public static class Builder {
+        private final int resourceCount;
+        private int[] offsets;
+        private int[] resources;
+        private int contenders;
+
+        public Builder(int resourceCount) {
+            this(resourceCount, 16, 64);
+        }
+
+        /**
+         * @param expectedContenders Contenders to make room for, more can be added.
+         * @param expectedResources Size of all resource sets together to make room for.
+         */
+        public Builder(int resourceCount, int expectedContenders, long expectedResources) {
+            this.resourceCount = resourceCount;
+            offsets = new int[Math.max(expectedContenders, 1) + 1];
+            resources = new int[(int) Math.min(Math.max(expectedResources, 1), Integer.MAX_VALUE - 8)];
+        }
+
+        /**
+         * @param set Resources the contender holds while eating, at least one and no resource twice.
+         * @return Id of the contender.
+         */
+        public int addContender(int... set) {
+            if (set.length == 0) {
+                throw new IllegalArgumentException("Contender " + contenders + " needs at least one resource");
+            }
+            int from = offsets[contenders];
+            if (contenders + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+            if (from + set.length > resources.length) {
+                resources = Arrays.copyOf(resources, Math.max(from + set.length, 2 * resources.length));
+            }
+            for (int i = 0; i < set.length; i++) {
+                if (set[i] < 0 || set[i] >= resourceCount) {
+                    throw new IllegalArgumentException("Contender " + contenders + " needs unknown resource " + set[i]);
+                }
+                for (int j = 0; j < i; j++) {
+                    if (set[j] == set[i]) {
+                        throw new IllegalArgumentException("Contender " + contenders + " needs resource " + set[i] + " twice");
+                    }
+                }
+                resources[from + i] = set[i];
+            }
+            offsets[contenders + 1] = from + set.length;
+            return contenders++;
+        }
+
+        public ResourceGraph build() {
+            return new ResourceGraph(resourceCount, Arrays.copyOf(offsets, contenders + 1),
+                    Arrays.copyOf(resources, offsets[contenders]));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * File:	ResourceSimulation.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+/**
+ * Virtual time simulation of contenders sharing the resources of a ResourceGraph, the dining philosophers
+ * generalised from two chopsticks in a ring to any set of resources.
+ * <p>
+ * Every contender thinks, gets hungry and eats like a philosopher of VirtualTimeSimulation, with durations
+ * drawn from the same seeded sequence, and holds all its resources while eating. It takes them all at once
+ * when they are all free, so there is no hold-and-wait and no deadlock. When a meal ends the hungry
+ * contenders sharing the released resources are offered them, the longest waiting first. On
+ * ResourceGraph.ring(n) this gives exactly the table of a VIRTUAL_TIME DiningPhilosopher with the same seed
+ * and start times.
+ * <p>
+ * The state is kept in primitive arrays indexed by contender and resource and the events in an EventQueue,
+ * so a million contenders simulate without allocating per event.
+ */
+public class ResourceSimulation {
+
+    /**
+     * Which hungry contender may take free resources.
+     */
+    public enum Policy {
+        /**
+         * Any contender whose resources are all free, the longest waiting first when resources are released.
+         */
+        GREEDY,
+        /**
+         * Rounds of meals scheduled by the colours of ResourceGraph.colour(). A contender may not take a
+         * resource that a hungry neighbour with precedence also needs: the neighbour with fewer meals, and
+         * between neighbours with as many meals the one with the lower colour. Neighbours never share a colour,
+         * so the precedence has no cycles and the contender with the most precedence can always eat. In every
+         * round the colour classes, each a set of contenders able to eat at the same time, go in colour order,
+         * and nobody eats again before its hungry neighbours have caught up.
+         */
+        COLOURING
+    }
+
+    // The virtual clock counts milliseconds, the metrics nanoseconds
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    // java.util.Random, inlined so that the generators of a million contenders are one long each
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Longest thinking or eating turn, as drawn by the philosophers
+    private static final int MAX_TURN = 1000;
+
+    private final ResourceGraph graph;
+    private final int n;
+
+    private Policy policy = Policy.GREEDY;
+    private long[] startTimes;
+
+    private final EventQueue events;
+    private final long[] random;
+
+    // Resource id -> contender holding it, -1 if free
+    private final int[] holder;
+
+    private final PhilosopherState[] state;
+    private final long[] turnLength;
+    private final long[] hungrySince;
+
+    // Released-resource neighbours offered the resources, and the meal they were last offered one at
+    private int[] candidates = new int[16];
+    private final long[] offeredAt;
+    private long meal;
+
+    // Contender -> colour, for the COLOURING policy only
+    private int[] colour;
+
+    private final int[] thinkingTurns;
+    private final int[] eatingTurns;
+    private final int[] hungryTurns;
+    private final long[] thinkingTime;
+    private final long[] eatingTime;
+    private final long[] hungryTime;
+    private final DurationHistogram latency = new DurationHistogram();
+
+    private long endTime;
+
+    /**
+     * @param seed Seed of the durations, contender i draws them as philosopher i of a table with this seed.
+     */
+    public ResourceSimulation(ResourceGraph graph, int seed) {
+        this.graph = graph;
+        this.n = graph.getContenderCount();
+
+        events = new EventQueue(n);
+        random = new long[n];
+        holder = new int[graph.getResourceCount()];
+        state = new PhilosopherState[n];
+        turnLength = new long[n];
+        hungrySince = new long[n];
+        offeredAt = new long[n];
+
+        thinkingTurns = new int[n];
+        eatingTurns = new int[n];
+        hungryTurns = new int[n];
+        thinkingTime = new long[n];
+        eatingTime = new long[n];
+        hungryTime = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            random[i] = ((long) (i + seed) ^ MULTIPLIER) & MASK;
+            offeredAt[i] = -1;
+        }
+        Arrays.fill(holder, -1);
+    }
+
+    public ResourceSimulation setPolicy(Policy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    /**
+     * @param startTimes Virtual time at which each contender starts thinking, all start at 0 by default.
+     */
+    public ResourceSimulation setStartTimes(long[] startTimes) {
+        if (startTimes.length != n) {
+            throw new IllegalArgumentException(startTimes.length + " start times for " + n + " contenders");
+        }
+        this.startTimes = startTimes;
+        return this;
+    }
+
+    /**
+     * Processes events until the simulation time has passed. Runs once.
+     * @param endTime Virtual time in milliseconds at which the contenders are stopped.
+     * @return Virtual time at which the contenders were stopped.
+     */
+    public long run(long endTime) {
+        if (this.endTime != 0) {
+            throw new IllegalStateException("The simulation has run already");
+        }
+        this.endTime = endTime;
+
+        if (policy == Policy.COLOURING) {
+            colour = graph.colour();
+        }
+        for (int i = 0; i < n; i++) {
+            state[i] = PhilosopherState.Finished; // not started yet
+            events.push(startTimes == null ? 0 : startTimes[i], i);
+        }
+
+        while (!events.isEmpty() && events.peekTime() < endTime) {
+            long time = events.peekTime();
+            int id = events.pop();
+
+            switch (state[id]) {
+                case Finished: // start event
+                    think(id, time);
+                    break;
+                case Thinking:
+                    thinkingTime[id] += turnLength[id];
+                    hungry(id, time);
+                    break;
+                case Eating:
+                    finishEating(id, time);
+                    break;
+                default:
+                    throw new IllegalStateException("Hungry contender " + id + " has a pending event");
+            }
+        }
+        return endTime;
+    }
+
+    private void think(int id, long time) {
+        state[id] = PhilosopherState.Thinking;
+        thinkingTurns[id]++;
+        schedule(id, time, nextTurn(id));
+    }
+
+    private void hungry(int id, long time) {
+        state[id] = PhilosopherState.Hungry;
+        hungryTurns[id]++;
+        hungrySince[id] = time;
+        tryToEat(id, time);
+    }
+
+    private void tryToEat(int id, long time) {
+        int from = graph.resourcesFrom(id);
+        int to = graph.resourcesTo(id);
+        for (int i = from; i < to; i++) {
+            int r = graph.resource(i);
+            if (holder[r] != -1 || claimed(r, id)) {
+                return; // Waits for a resource to be released.
+            }
+        }
+        for (int i = from; i < to; i++) {
+            holder[graph.resource(i)] = id;
+        }
+
+        latency.record(NANOS_PER_MILLI * (time - hungrySince[id]));
+        state[id] = PhilosopherState.Eating;
+        eatingTurns[id]++;
+        schedule(id, time, nextTurn(id));
+    }
+
+    /**
+     * @return Whether a hungry neighbour with precedence over the contender needs the resource.
+     */
+    private boolean claimed(int resource, int id) {
+        if (colour == null) {
+            return false;
+        }
+        for (int j = graph.usersFrom(resource); j < graph.usersTo(resource); j++) {
+            int other = graph.user(j);
+            if (other != id && state[other] == PhilosopherState.Hungry
+                    && (eatingTurns[other] < eatingTurns[id]
+                    || (eatingTurns[other] == eatingTurns[id] && colour[other] < colour[id]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void finishEating(int id, long time) {
+        eatingTime[id] += turnLength[id];
+        hungryTime[id] += time - hungrySince[id];
+
+        int from = graph.resourcesFrom(id);
+        int to = graph.resourcesTo(id);
+        for (int i = from; i < to; i++) {
+            holder[graph.resource(i)] = -1;
+        }
+
+        think(id, time);
+
+        // The hungry contenders sharing the released resources, each once, longest waiting first.
+        meal++;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int r = graph.resource(i);
+            for (int j = graph.usersFrom(r); j < graph.usersTo(r); j++) {
+                int other = graph.user(j);
+                if (state[other] == PhilosopherState.Hungry && offeredAt[other] != meal) {
+                    offeredAt[other] = meal;
+                    if (count == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, 2 * count);
+                    }
+                    int k = count++;
+                    while (k > 0 && hungrySince[candidates[k - 1]] > hungrySince[other]) {
+                        candidates[k] = candidates[k - 1];
+                        k--;
+                    }
+                    candidates[k] = other;
+                }
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            if (state[candidates[k]] == PhilosopherState.Hungry) {
+                tryToEat(candidates[k], time);
+            }
+        }
+    }
+
+    private void schedule(int id, long time, long length) {
+        turnLength[id] = length;
+        events.push(time + length, id);
+    }
+
+    /**
+     * @return The next duration of the contender, as Random.nextInt(MAX_TURN) of its philosopher.
+     */
+    private int nextTurn(int id) {
+        int r = next31(id);
+        int u = r;
+        while (u - (r = u % MAX_TURN) + (MAX_TURN - 1) < 0) {
+            u = next31(id);
+        }
+        return r;
+    }
+
+    private int next31(int id) {
+        random[id] = (random[id] * MULTIPLIER + ADDEND) & MASK;
+        return (int) (random[id] >>> (48 - 31));
+    }
+
+    public int getNumberOfThinkingTurns(int contender) {
+        return thinkingTurns[contender];
+    }
+
+    public int getNumberOfEatingTurns(int contender) {
+        return eatingTurns[contender];
+    }
+
+    public int getNumberOfHungryTurns(int contender) {
+        return hungryTurns[contender];
+    }
+
+    public long getTotalThinkingTime(int contender) {
+        return thinkingTime[contender];
+    }
+
+    public long getTotalEatingTime(int contender) {
+        return eatingTime[contender];
+    }
+
+    public long getTotalHungryTime(int contender) {
+        return hungryTime[contender];
+    }
+
+    /**
+     * @return Time from becoming hungry to holding all resources, of all contenders, in nanoseconds.
+     */
+    public DurationHistogram getLatency() {
+        return latency;
+    }
+
+    public long getMeals() {
+        long meals = 0;
+        for (int m : eatingTurns) {
+            meals += m;
+        }
+        return meals;
+    }
+
+    /**
+     * @return Meals per second of virtual time.
+     */
+    public double getMealsPerSecond() {
+        return endTime == 0 ? 0 : getMeals() * 1000.0 / endTime;
+    }
+
+    public double getFairnessIndex() {
+        double[] meals = new double[n];
+        for (int i = 0; i < n; i++) {
+            meals[i] = eatingTurns[i];
+        }
+        return DiningPhilosopher.jainIndex(meals);
+    }
+
+    /**
+     * Prints the table of DiningPhilosopher.printTable() with one row per contender.
+     */
+    public void printTable() {
+        double[] thinking = new double[n];
+        double[] eating = new double[n];
+        double[] hungry = new double[n];
+        for (int i = 0; i < n; i++) {
+            thinking[i] = thinkingTime[i];
+            eating[i] = eatingTime[i];
+            hungry[i] = hungryTime[i];
+        }
+        DiningPhilosopher.printTable(thinking, eating, hungry, thinkingTurns, eatingTurns, hungryTurns);
+    }
+
+    /**
+     * Prints the throughput and the hunger latency of all contenders, as the ALL row of
+     * DiningPhilosopher.printLatencies().
+     */
+    public void printSummary() {
+        DecimalFormat df2 = new DecimalFormat("0.##");
+        System.out.println("\n---------------------------------------------------");
+        System.out.println("Contenders: " + n + "\tResources: " + graph.getResourceCount() + "\tPolicy: " + policy);
+        System.out.println("Meals: " + getMeals() + "\tMeals per second: " + df2.format(getMealsPerSecond())
+                + "\tFairness: " + df2.format(getFairnessIndex()));
+        System.out.println("\tP50 HL \tP99 HL \tMAX HL \t#HL");
+        System.out.println("ALL\t\t"
+                + df2.format(latency.getPercentile(50) / 1e6) + "\t\t"
+                + df2.format(latency.getPercentile(99) / 1e6) + "\t\t"
+                + df2.format(latency.getMax() / 1e6) + "\t\t"
+                + latency.getCount());
+        System.out.println("---------------------------------------------------\n");
+    }
+
+    /**
+     * Usage: ResourceSimulation contenders resources k simulationTime [GREEDY|COLOURING [seed [table]]]
+     * <p>
+     * Simulates contenders each needing k of the resources, drawn with the seed, and prints the summary,
+     * and with "table" the table of every contender.
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Usage: ResourceSimulation contenders resources k simulationTime [GREEDY|COLOURING [seed [table]]]");
+            return;
+        }
+        int seed = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        ResourceGraph graph = ResourceGraph.random(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+                Integer.parseInt(args[2]), seed);
+        ResourceSimulation simulation = new ResourceSimulation(graph, seed);
+        if (args.length > 4) {
+            simulation.setPolicy(Policy.valueOf(args[4]));
+        }
+
+        long start = System.currentTimeMillis();
+        simulation.run(Long.parseLong(args[3]));
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (args.length > 6 && args[6].equals("table")) {
+            simulation.printTable();
+        }
+        simulation.printSummary();
+        System.out.println("Simulated in " + elapsed + " ms");
+    }
+}
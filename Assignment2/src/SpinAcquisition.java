@@ -0,0 +1,51 @@
+/*
+ * File:	SpinAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * The original strategy: picks up the left chopstick, then tries the right one, and puts the left one back
+ * if the right one is taken, over and over until both are held. Never blocks, but a waiting philosopher
+ * keeps a core busy. Checks for an interrupt on every attempt, so it stops as soon as the table does.
+ */
+public class SpinAcquisition implements AcquisitionStrategy {
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        Chopstick left = philosopher.getLeftChopstick();
+        Chopstick right = philosopher.getRightChopstick();
+        boolean yieldWhileWaiting = philosopher.isYieldWhileWaiting();
+        ContentionCounters contention = philosopher.getContention();
+
+        boolean canEat = false;
+        while (!canEat) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (left.getLock().tryLock()) {
+                if (right.getLock().tryLock()) {
+                    canEat = true;
+                } else {
+                    // Unlock left if right not available.
+                    contention.failed(ContentionCounters.RIGHT);
+                    left.getLock().unlock();
+                    contention.rollback(ContentionCounters.LEFT);
+                }
+                // Loop back and try again.
+            } else {
+                contention.failed(ContentionCounters.LEFT);
+            }
+            if (!canEat && yieldWhileWaiting) {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+    }
+}
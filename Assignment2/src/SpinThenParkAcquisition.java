@@ -0,0 +1,59 @@
+/*
+ * File:	SpinThenParkAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * Tries both chopsticks like SpinAcquisition for a bounded number of rounds, which is cheap when a neighbour
+ * is about to finish, and then parks on the locks in id order like OrderedAcquisition.
+ * <p>
+ * The spinning rounds never hold one chopstick while waiting for the other, so they cannot close a cycle
+ * with the ordered phase.
+ */
+public class SpinThenParkAcquisition implements AcquisitionStrategy {
+
+    private static final int DEFAULT_SPINS = 100;
+
+    private final int spins;
+
+    public SpinThenParkAcquisition() {
+        this(DEFAULT_SPINS);
+    }
+
+    /**
+     * @param spins Attempts to take both chopsticks before parking.
+     */
+    public SpinThenParkAcquisition(int spins) {
+        this.spins = spins;
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        Chopstick left = philosopher.getLeftChopstick();
+        Chopstick right = philosopher.getRightChopstick();
+        ContentionCounters contention = philosopher.getContention();
+
+        for (int i = 0; i < spins; i++) {
+            if (left.getLock().tryLock()) {
+                if (right.getLock().tryLock()) {
+                    return;
+                }
+                contention.failed(ContentionCounters.RIGHT);
+                left.getLock().unlock();
+                contention.rollback(ContentionCounters.LEFT);
+            } else {
+                contention.failed(ContentionCounters.LEFT);
+            }
+            Thread.onSpinWait();
+        }
+        OrderedAcquisition.lockInOrder(philosopher);
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * File:	StartOrder.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+/**
+ * How DiningPhilosopher.start() launches the philosophers.
+ */
+public enum StartOrder {
+    /**
+     * The original launch: the odd philosophers, then the even ones, with 50 ms between two launches.
+     * Takes 50 ms per philosopher before the last one runs.
+     */
+    STAGGERED,
+    /**
+     * The odd philosophers, then the even ones as soon as every odd philosopher has started, without sleeping.
+     * All threads are created and waiting before the first philosopher is released.
+     */
+    ODD_EVEN,
+    /** All philosophers are created and waiting, then released at the same instant. */
+    SIMULTANEOUS
+}
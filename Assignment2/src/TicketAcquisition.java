@@ -0,0 +1,155 @@
+/*
+ * File:	TicketAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starvation-bounded acquisition: a philosopher takes a ticket when it gets hungry and eats as soon as both
+ * its chopsticks are free, unless a neighbour sharing one of them holds an older ticket and has been hungry
+ * for longer than the patience.
+ * <p>
+ * Until then the philosophers take whatever is free, as with the other strategies, which keeps the
+ * throughput: making every philosopher wait for each older neighbour would leave chopsticks unused while
+ * the neighbour waits for its other one. Once a philosopher has run out of patience its neighbours stop
+ * overtaking it, and among such philosophers the oldest ticket goes first, so the oldest can eat as soon as
+ * its neighbours are done. There is no deadlock, and the hunger time is bounded by the patience plus the
+ * meals in front of the ticket rather than by luck. A patience of 0 serves strictly by ticket.
+ * <p>
+ * The tickets and chopsticks are guarded by one lock that is only held to check and update them, and every
+ * philosopher waits on its own condition, signalled when a neighbour puts its chopsticks down or gives up.
+ */
+public class TicketAcquisition implements AcquisitionStrategy {
+
+    private static final long NOT_HUNGRY = Long.MAX_VALUE;
+
+    private static final long DEFAULT_PATIENCE = TimeUnit.MILLISECONDS.toNanos(300);
+
+    private final long patience;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long nextTicket;
+    // Philosopher id -> ticket and System.nanoTime() of the ticket while hungry, NOT_HUNGRY otherwise
+    private long[] ticket;
+    private long[] since;
+    // Chopstick id -> in use
+    private boolean[] taken;
+    // Philosopher id -> condition signalled when a neighbour releases or gives up
+    private Condition[] changed;
+
+    private List<Philosopher> philosophers;
+
+    public TicketAcquisition() {
+        this(DEFAULT_PATIENCE);
+    }
+
+    /**
+     * @param patience Hungry time in nanoseconds after which the neighbours of a philosopher defer to its ticket.
+     */
+    public TicketAcquisition(long patience) {
+        this.patience = patience;
+    }
+
+    @Override
+    public void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+        this.philosophers = philosophers;
+        ticket = new long[philosophers.size()];
+        since = new long[philosophers.size()];
+        taken = new boolean[chopsticks.size()];
+        changed = new Condition[philosophers.size()];
+        Arrays.fill(ticket, NOT_HUNGRY);
+        for (int i = 0; i < changed.length; i++) {
+            changed[i] = lock.newCondition();
+        }
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        int id = philosopher.getId();
+        int left = philosopher.getLeftChopstick().getId();
+        int right = philosopher.getRightChopstick().getId();
+
+        lock.lock();
+        try {
+            ticket[id] = nextTicket++;
+            since[id] = System.nanoTime();
+            int side;
+            while ((side = blockedSide(philosopher)) >= 0) {
+                philosopher.getContention().failed(side);
+                try {
+                    changed[id].await();
+                } catch (InterruptedException e) {
+                    ticket[id] = NOT_HUNGRY;
+                    signalNeighbours(philosopher);
+                    throw e;
+                }
+            }
+            ticket[id] = NOT_HUNGRY;
+            taken[left] = true;
+            taken[right] = true;
+        } finally {
+            lock.unlock();
+        }
+
+        // Free by now, locked so that the chopsticks show their owner.
+        philosopher.getLeftChopstick().getLock().lock();
+        philosopher.getRightChopstick().getLock().lock();
+    }
+
+    /**
+     * @return The side (ContentionCounters.LEFT or RIGHT) keeping the philosopher from eating, -1 if none.
+     */
+    private int blockedSide(Philosopher philosopher) {
+        if (blocked(philosopher, philosopher.getLeftChopstick())) {
+            return ContentionCounters.LEFT;
+        }
+        if (blocked(philosopher, philosopher.getRightChopstick())) {
+            return ContentionCounters.RIGHT;
+        }
+        return -1;
+    }
+
+    private boolean blocked(Philosopher philosopher, Chopstick chopstick) {
+        int neighbour = neighbour(philosopher, chopstick);
+        return taken[chopstick.getId()]
+                || (ticket[neighbour] < ticket[philosopher.getId()] && System.nanoTime() - since[neighbour] >= patience);
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+
+        lock.lock();
+        try {
+            taken[philosopher.getLeftChopstick().getId()] = false;
+            taken[philosopher.getRightChopstick().getId()] = false;
+            signalNeighbours(philosopher);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signalNeighbours(Philosopher philosopher) {
+        changed[neighbour(philosopher, philosopher.getLeftChopstick())].signal();
+        changed[neighbour(philosopher, philosopher.getRightChopstick())].signal();
+    }
+
+    /**
+     * @return The other philosopher using the chopstick: chopstick c is the right one of philosopher c and
+     * the left one of philosopher c - 1.
+     */
+    private int neighbour(Philosopher philosopher, Chopstick chopstick) {
+        int n = philosophers.size();
+        int c = chopstick.getId();
+        return philosopher.getId() == c ? (c - 1 + n) % n : c;
+    }
+}
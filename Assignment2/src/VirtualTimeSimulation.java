@@ -0,0 +1,177 @@
+/*
+ * File:	VirtualTimeSimulation.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.List;
+
+/**
+ * Runs the dining philosophers as a discrete-event simulation in virtual time.
+ * <p>
+ * Every philosopher has at most one pending event, the end of its current thinking or eating turn, kept in
+ * an EventQueue ordered by virtual time. The clock jumps to the next event, so a simulation of ten minutes
+ * takes milliseconds, and the result depends only on the seed, not on the thread scheduler.
+ * <p>
+ * The philosophers draw their durations from their own seeded Random in the same order as the threads do,
+ * and follow the same chopstick rule: a hungry philosopher eats as soon as both its chopsticks are free.
+ * When a meal ends, the hungry neighbours are offered the released chopsticks, the longest waiting first.
+ * As in the threaded mode, a turn is counted when it starts, its time is added when it finishes before the
+ * end of the simulation, and the hungry time runs until the meal is finished.
+ */
+public class VirtualTimeSimulation {
+
+    // The virtual clock counts milliseconds, the metrics nanoseconds
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    private final List<Philosopher> philosophers;
+    private final int n;
+    private final long endTime;
+
+    private final EventQueue events;
+
+    // Chopstick id -> philosopher holding it, -1 if on the table
+    private final int[] holder;
+
+    private final PhilosopherState[] state;
+    private final long[] turnStart;
+    private final long[] turnLength;
+    private final long[] hungrySince;
+
+    /**
+     * @param philosophers Philosophers with their chopsticks, philosopher i at index i.
+     * @param startTimes Virtual time at which each philosopher starts thinking.
+     * @param endTime Virtual time at which the philosophers are stopped.
+     */
+    public VirtualTimeSimulation(List<Philosopher> philosophers, long[] startTimes, long endTime) {
+        this.philosophers = philosophers;
+        this.n = philosophers.size();
+        this.endTime = endTime;
+
+        events = new EventQueue(n);
+        holder = new int[n];
+        state = new PhilosopherState[n];
+        turnStart = new long[n];
+        turnLength = new long[n];
+        hungrySince = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            holder[i] = -1;
+            state[i] = PhilosopherState.Finished; // not started yet
+            turnStart[i] = startTimes[i];
+            events.push(startTimes[i], i);
+        }
+    }
+
+    /**
+     * Processes events until the simulation time has passed.
+     * @return Virtual time at which the philosophers were stopped.
+     */
+    public long run() {
+        while (!events.isEmpty() && events.peekTime() < endTime) {
+            long time = events.peekTime();
+            int id = events.pop();
+
+            switch (state[id]) {
+                case Finished: // start event
+                    think(id, time);
+                    break;
+                case Thinking:
+                    philosophers.get(id).finishThinking(turnLength[id], NANOS_PER_MILLI * turnLength[id]);
+                    hungry(id, time);
+                    break;
+                case Eating:
+                    finishEating(id, time);
+                    break;
+                default:
+                    throw new IllegalStateException("Hungry philosopher " + id + " has a pending event");
+            }
+        }
+        return endTime;
+    }
+
+    private void think(int id, long time) {
+        state[id] = PhilosopherState.Thinking;
+        schedule(id, time, philosophers.get(id).startThinking());
+    }
+
+    private void hungry(int id, long time) {
+        state[id] = PhilosopherState.Hungry;
+        hungrySince[id] = time;
+        philosophers.get(id).hungry();
+        tryToEat(id, time);
+    }
+
+    private void tryToEat(int id, long time) {
+        Philosopher p = philosophers.get(id);
+        int left = p.getLeftChopstick().getId();
+        int right = p.getRightChopstick().getId();
+        if (holder[left] != -1 || holder[right] != -1) {
+            p.getContention().failed(holder[left] != -1 ? ContentionCounters.LEFT : ContentionCounters.RIGHT);
+            return; // Waits for a neighbour to put a chopstick down.
+        }
+
+        holder[left] = id;
+        holder[right] = id;
+        if (p.DEBUG) {
+            p.log(EventLog.PICKED_UP, left);
+            p.log(EventLog.PICKED_UP, right);
+        }
+
+        p.acquired(NANOS_PER_MILLI * (time - hungrySince[id]));
+        p.getContention().acquired(NANOS_PER_MILLI * time);
+        state[id] = PhilosopherState.Eating;
+        schedule(id, time, p.startEating());
+    }
+
+    private void finishEating(int id, long time) {
+        Philosopher p = philosophers.get(id);
+        p.finishEating(turnLength[id], NANOS_PER_MILLI * turnLength[id]);
+        p.finishHungry(time - hungrySince[id]);
+
+        int left = p.getLeftChopstick().getId();
+        int right = p.getRightChopstick().getId();
+        holder[left] = -1;
+        holder[right] = -1;
+        p.getContention().released(NANOS_PER_MILLI * time);
+
+        think(id, time);
+
+        // The neighbours sharing the released chopsticks, longest waiting first.
+        int first = waitingFor(right, id);
+        int second = waitingFor(left, id);
+        if (first != -1 && second != -1 && hungrySince[second] < hungrySince[first]) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        if (first != -1) {
+            tryToEat(first, time);
+        }
+        if (second != -1) {
+            tryToEat(second, time);
+        }
+    }
+
+    /**
+     * @return The other philosopher using the chopstick if it is hungry, otherwise -1.
+     */
+    private int waitingFor(int chopstick, int id) {
+        for (int other : new int[]{chopstick, (chopstick - 1 + n) % n}) {
+            if (other != id && state[other] == PhilosopherState.Hungry) {
+                Philosopher p = philosophers.get(other);
+                if (p.getLeftChopstick().getId() == chopstick || p.getRightChopstick().getId() == chopstick) {
+                    return other;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void schedule(int id, long time, long length) {
+        turnStart[id] = time;
+        turnLength[id] = length;
+        events.push(time + length, id);
+    }
+}
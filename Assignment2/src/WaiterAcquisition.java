@@ -0,0 +1,48 @@
+/*
+ * File:	WaiterAcquisition.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A waiter (arbitrator) lets at most n - 1 philosophers reach for their chopsticks at the same time. With
+ * one seat always empty, at least one philosopher at the table can get both chopsticks, so they can be
+ * taken left then right with blocking locks without deadlock. The waiter serves in arrival order.
+ */
+public class WaiterAcquisition implements AcquisitionStrategy {
+
+    private Semaphore waiter;
+
+    @Override
+    public void initialize(List<Philosopher> philosophers, List<Chopstick> chopsticks) {
+        waiter = new Semaphore(philosophers.size() - 1, true);
+    }
+
+    @Override
+    public void acquire(Philosopher philosopher) throws InterruptedException {
+        waiter.acquire();
+        try {
+            OrderedAcquisition.lock(philosopher, ContentionCounters.LEFT);
+            try {
+                OrderedAcquisition.lock(philosopher, ContentionCounters.RIGHT);
+            } catch (InterruptedException e) {
+                philosopher.getLeftChopstick().getLock().unlock();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            waiter.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(Philosopher philosopher) {
+        philosopher.getRightChopstick().getLock().unlock();
+        philosopher.getLeftChopstick().getLock().unlock();
+        waiter.release();
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * File:	Watchdog.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October 2026
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the philosophers of a running table and reports deadlocks, livelocks and starvation.
+ * <p>
+ * Every sample reads the state of every philosopher and the owner of every chopstick (see OwnedLock and
+ * BitLock), without taking any lock, and builds the wait-for graph: a hungry philosopher waits for the
+ * neighbour holding one of its chopsticks. A cycle in that graph is
+ * <ul>
+ * <li>a deadlock if the same philosophers hold the same chopsticks as in the previous sample and none of
+ * them has eaten since;</li>
+ * <li>a livelock if the chopsticks change hands, as when every philosopher puts back the chopstick it took
+ * because the other one was taken, but all its philosophers have been hungry for longer than the
+ * threshold.</li>
+ * </ul>
+ * A philosopher hungry for longer than the threshold is starving. Every finding is reported once to the
+ * Listener. Chopsticks whose lock does not tell its owner are seen as free, so only starvation is found for
+ * them.
+ */
+public class Watchdog {
+
+    public enum Kind {
+        DEADLOCK, LIVELOCK, STARVATION
+    }
+
+    /**
+     * A finding: the philosophers involved and the chopsticks they wait for, in the same order.
+     */
+    public static class Alert {
+        private final Kind kind;
+        private final int[] philosophers;
+        private final int[] chopsticks;
+
+        Alert(Kind kind, int[] philosophers, int[] chopsticks) {
+            this.kind = kind;
+            this.philosophers = philosophers;
+            this.chopsticks = chopsticks;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int[] getPhilosophers() {
+            return philosophers.clone();
+        }
+
+        public int[] getChopsticks() {
+            return chopsticks.clone();
+        }
+
+        @Override
+        public String toString() {
+            return kind + ": philosophers " + Arrays.toString(philosophers)
+                    + " waiting for chopsticks " + Arrays.toString(chopsticks);
+        }
+    }
+
+    public interface Listener {
+        void alert(Alert alert);
+    }
+
+    private final List<Philosopher> philosophers;
+    private final long interval;
+    private final long threshold;
+    private final Listener listener;
+    private final List<Alert> alerts = new ArrayList<Alert>();
+
+    private ScheduledExecutorService sampler;
+
+    // Chopstick id -> philosopher id of the owner in the last sample, -1 if free
+    private int[] owners;
+    private int[] previousOwners;
+    // Philosopher id -> eating turns in the last sample
+    private int[] meals;
+    private int[] previousMeals;
+
+    // Philosopher id -> start of the hunger reported as starvation
+    private final long[] starvationReported;
+    // Members of the cycles found in the last sample and already reported
+    private Set<String> reportedCycles = new HashSet<String>();
+
+    /**
+     * @param intervalMillis Time between two samples.
+     * @param thresholdMillis Hungry time after which a philosopher is starving.
+     * @param listener Receives the findings on the sampling thread.
+     */
+    public Watchdog(List<Philosopher> philosophers, long intervalMillis, long thresholdMillis, Listener listener) {
+        this.philosophers = philosophers;
+        this.interval = intervalMillis;
+        this.threshold = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.listener = listener;
+
+        int n = philosophers.size();
+        owners = new int[n];
+        previousOwners = new int[n];
+        meals = new int[n];
+        previousMeals = new int[n];
+        starvationReported = new long[n];
+        Arrays.fill(previousOwners, -1);
+        Arrays.fill(starvationReported, -1);
+    }
+
+    public void start() {
+        sampler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() throws InterruptedException {
+        sampler.shutdownNow();
+        sampler.awaitTermination(interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return The findings reported so far.
+     */
+    public synchronized List<Alert> getAlerts() {
+        return new ArrayList<Alert>(alerts);
+    }
+
+    /**
+     * Takes one sample and reports what it finds.
+     */
+    void sample() {
+        int n = philosophers.size();
+        long now = System.nanoTime();
+
+        Map<Thread, Integer> ids = new HashMap<Thread, Integer>();
+        for (Philosopher p : philosophers) {
+            Thread thread = p.getThread();
+            if (thread != null) {
+                ids.put(thread, p.getId());
+            }
+        }
+
+        Arrays.fill(owners, -1);
+        boolean[] hungry = new boolean[n];
+        for (Philosopher p : philosophers) {
+            int id = p.getId();
+            for (Chopstick c : new Chopstick[]{p.getLeftChopstick(), p.getRightChopstick()}) {
+                Integer owner = ids.get(c.getOwner());
+                owners[c.getId()] = owner == null ? -1 : owner;
+            }
+            meals[id] = p.getNumberOfEatingTurns();
+            hungry[id] = p.getCurrentState() == PhilosopherState.Hungry;
+
+            long hungrySince = p.getHungrySince();
+            if (hungry[id] && now - hungrySince > threshold && starvationReported[id] != hungrySince) {
+                starvationReported[id] = hungrySince;
+                report(new Alert(Kind.STARVATION, new int[]{id}, chopsticksOf(p)));
+            }
+        }
+
+        Set<String> cycles = new HashSet<String>();
+        for (int[] cycle : findCycles(hungry)) {
+            String key = Arrays.toString(sorted(cycle));
+            cycles.add(key);
+            if (reportedCycles.contains(key)) {
+                continue;
+            }
+
+            int[] waitingFor = new int[cycle.length];
+            boolean unchanged = true;
+            boolean starving = true;
+            for (int i = 0; i < cycle.length; i++) {
+                Philosopher p = philosophers.get(cycle[i]);
+                waitingFor[i] = chopstickHeldBy(p, cycle[(i + 1) % cycle.length]);
+                unchanged &= meals[cycle[i]] == previousMeals[cycle[i]]
+                        && owners[waitingFor[i]] == previousOwners[waitingFor[i]];
+                starving &= now - p.getHungrySince() > threshold;
+            }
+
+            if (unchanged) {
+                report(new Alert(Kind.DEADLOCK, cycle, waitingFor));
+            } else if (starving) {
+                report(new Alert(Kind.LIVELOCK, cycle, waitingFor));
+            } else {
+                cycles.remove(key); // not reported yet, look again in the next sample
+            }
+        }
+        reportedCycles = cycles;
+
+        int[] swap = previousOwners;
+        previousOwners = owners;
+        owners = swap;
+        swap = previousMeals;
+        previousMeals = meals;
+        meals = swap;
+    }
+
+    private synchronized void report(Alert alert) {
+        alerts.add(alert);
+        listener.alert(alert);
+    }
+
+    /**
+     * Finds the cycles of the wait-for graph with a depth-first search, each philosopher waiting for at most
+     * its two neighbours.
+     */
+    private List<int[]> findCycles(boolean[] hungry) {
+        int n = philosophers.size();
+        List<int[]> cycles = new ArrayList<int[]>();
+        // 0 = not visited, 1 = on the path, 2 = done
+        int[] color = new int[n];
+        int[] path = new int[n];
+        int[] position = new int[n];
+        int[] next = new int[n]; // index of the next successor to visit
+
+        for (int root = 0; root < n; root++) {
+            if (color[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            path[0] = root;
+            position[root] = 0;
+            color[root] = 1;
+            next[root] = 0;
+
+            while (depth >= 0) {
+                int id = path[depth];
+                int successor = successor(id, next[id]++, hungry);
+                if (next[id] > 2) {
+                    color[id] = 2;
+                    depth--;
+                } else if (successor < 0) {
+                    continue;
+                } else if (color[successor] == 1) {
+                    cycles.add(Arrays.copyOfRange(path, position[successor], depth + 1));
+                } else if (color[successor] == 0) {
+                    color[successor] = 1;
+                    next[successor] = 0;
+                    path[++depth] = successor;
+                    position[successor] = depth;
+                }
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * @return The philosopher holding the left (0) or right (1) chopstick a hungry philosopher waits for, or -1.
+     */
+    private int successor(int id, int which, boolean[] hungry) {
+        if (which > 1 || !hungry[id]) {
+            return -1;
+        }
+        Philosopher p = philosophers.get(id);
+        int owner = owners[(which == 0 ? p.getLeftChopstick() : p.getRightChopstick()).getId()];
+        return owner == id ? -1 : owner;
+    }
+
+    private int chopstickHeldBy(Philosopher p, int owner) {
+        int left = p.getLeftChopstick().getId();
+        return owners[left] == owner ? left : p.getRightChopstick().getId();
+    }
+
+    private static int[] chopsticksOf(Philosopher p) {
+        return new int[]{p.getLeftChopstick().getId(), p.getRightChopstick().getId()};
+    }
+
+    private static int[] sorted(int[] ids) {
+        int[] copy = ids.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
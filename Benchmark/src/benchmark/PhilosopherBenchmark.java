@@ -0,0 +1,85 @@
+/*
+ * File:	PhilosopherBenchmark.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures chopstick pick up and put down throughput of Philosopher under contention.
+ * <p>
+ * Five benchmark threads each act as one philosopher around a shared table of five chopsticks and
+ * repeatedly run the pick up protocol of Philosopher.getChopSticks() without thinking or eating,
+ * so every neighbour competes for the same chopsticks all the time. Philosopher and Chopstick are reached
+ * through Subjects.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhilosopherBenchmark {
+
+    static final int NUMBER_OF_PHILOSOPHERS = 5;
+
+    private static final Class<?> CHOPSTICK = Subjects.type("Chopstick");
+    private static final MethodHandle NEW_CHOPSTICK = Subjects.constructor("Chopstick", int.class);
+    private static final MethodHandle NEW_PHILOSOPHER = Subjects.constructor("Philosopher",
+            int.class, CHOPSTICK, CHOPSTICK, int.class, boolean.class);
+    private static final MethodHandle PICK_UP = Subjects.method("Philosopher", "pickUpChopSticks", void.class);
+    private static final MethodHandle PUT_DOWN = Subjects.method("Philosopher", "putDownChopSticks", void.class);
+
+    @State(Scope.Benchmark)
+    public static class Table {
+        ArrayList<Object> chopsticks;
+        AtomicInteger nextSeat;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Throwable {
+            chopsticks = new ArrayList<Object>(NUMBER_OF_PHILOSOPHERS);
+            for (int i = 0; i < NUMBER_OF_PHILOSOPHERS; i++) {
+                chopsticks.add((Object) NEW_CHOPSTICK.invokeExact(i));
+            }
+            nextSeat = new AtomicInteger();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Seat {
+        Object philosopher;
+
+        @Setup(Level.Trial)
+        public void setUp(Table table) throws Throwable {
+            int i = table.nextSeat.getAndIncrement() % NUMBER_OF_PHILOSOPHERS;
+            philosopher = (Object) NEW_PHILOSOPHER.invokeExact(i, table.chopsticks.get((i + 1) % NUMBER_OF_PHILOSOPHERS),
+                    table.chopsticks.get(i), 0, false);
+        }
+    }
+
+    @Benchmark
+    @Threads(NUMBER_OF_PHILOSOPHERS)
+    public void pickUpAndPutDown(Seat seat) throws Throwable {
+        PICK_UP.invokeExact(seat.philosopher);
+        PUT_DOWN.invokeExact(seat.philosopher);
+    }
+}
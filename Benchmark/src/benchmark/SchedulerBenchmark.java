@@ -0,0 +1,124 @@
+/*
+ * File:	SchedulerBenchmark.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures FCFS.run() and the Gantt chart rendering across trace sizes and arrival distributions.
+ * <p>
+ * Arrival distributions, with a mean burst time of 50:
+ * 	saturated: every process has arrived before the CPU is free, no idle time
+ * 	uniform:   gaps drawn uniformly around the mean burst time, the CPU is busy about half the time
+ * 	bursty:    groups of 100 processes arriving together, separated by long idle gaps
+ * <p>
+ * ProcessTable, FCFS and GanttRenderer are reached through Subjects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final MethodHandle NEW_TABLE = Subjects.constructor("ProcessTable", int.class);
+    // The row returned by add() is not needed, the handle drops it
+    private static final MethodHandle ADD = Subjects.method("ProcessTable", "add", int.class,
+            int.class, int.class, int.class).asType(MethodType.methodType(void.class, Object.class, int.class,
+            int.class, int.class));
+    private static final MethodHandle NEW_FCFS = Subjects.constructor("FCFS", Subjects.type("ProcessTable"));
+    private static final MethodHandle RUN = Subjects.method("FCFS", "run", void.class);
+    private static final MethodHandle GET_TABLE = Subjects.method("FCFS", "getTable", Subjects.type("ProcessTable"));
+    private static final MethodHandle RENDERER = Subjects.method("FCFS", "renderer", Subjects.type("GanttRenderer"));
+    private static final MethodHandle SET_MAX_RUN_WIDTH = Subjects.method("GanttRenderer", "setMaxRunWidth",
+            Subjects.type("GanttRenderer"), int.class);
+    private static final MethodHandle WRITE_GANTT_CHART = Subjects.method("GanttRenderer", "writeGanttChart",
+            void.class, Writer.class);
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"saturated", "uniform", "bursty"})
+    public String arrivals;
+
+    // ProcessTable to schedule, and an FCFS that has run
+    private Object trace;
+    private Object scheduled;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        trace = generate(size, arrivals, 42);
+
+        // The trace is generated sorted, so run() measures the scheduling pass and not the first sort.
+        scheduled = (Object) NEW_FCFS.invokeExact(generate(size, arrivals, 42));
+        RUN.invokeExact(scheduled);
+    }
+
+    @Benchmark
+    public Object fcfsRun() throws Throwable {
+        Object fcfs = (Object) NEW_FCFS.invokeExact(trace);
+        RUN.invokeExact(fcfs);
+        return (Object) GET_TABLE.invokeExact(fcfs);
+    }
+
+    @Benchmark
+    public void ganttChart() throws Throwable {
+        Object renderer = (Object) RENDERER.invokeExact(scheduled);
+        WRITE_GANTT_CHART.invokeExact(renderer, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void ganttChartCompact() throws Throwable {
+        Object renderer = (Object) SET_MAX_RUN_WIDTH.invokeExact((Object) RENDERER.invokeExact(scheduled), 4);
+        WRITE_GANTT_CHART.invokeExact(renderer, Writer.nullWriter());
+    }
+
+    static Object generate(int size, String arrivals, long seed) throws Throwable {
+        Random random = new Random(seed);
+        Object table = (Object) NEW_TABLE.invokeExact(size);
+        int time = 0;
+
+        for (int i = 0; i < size; i++) {
+            int burst = 1 + random.nextInt(99);
+            ADD.invokeExact(table, i, time, burst);
+
+            switch (arrivals) {
+                case "saturated":
+                    time += random.nextInt(2);
+                    break;
+                case "uniform":
+                    time += random.nextInt(200);
+                    break;
+                case "bursty":
+                    time += (i % 100 == 99) ? 10000 + random.nextInt(10000) : 0;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown arrival distribution: " + arrivals);
+            }
+        }
+        return table;
+    }
+}
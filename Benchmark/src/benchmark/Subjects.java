@@ -0,0 +1,78 @@
+/*
+ * File:	Subjects.java
+ * Course: 	Operating Systems
+ * Code: 	1DV512
+ * Date: 	October, 2026
+ */
+
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles on the classes under test, which live in the default package of Assignment1/src and
+ * Assignment2/src.
+ * <p>
+ * JMH does not generate code for benchmarks in the default package, and a class in a named package cannot
+ * refer to the default package in source, so the benchmarks look the classes up by name instead. Both sides
+ * are in the unnamed module, so package-private members can be reached too. In the handles every class
+ * under test is replaced by Object, other types are kept. The benchmarks keep them in static final fields,
+ * which the JIT treats as constants and inlines like direct calls.
+ */
+final class Subjects {
+
+    private Subjects() {
+    }
+
+    static Class<?> type(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Class under test not on the class path: " + className, e);
+        }
+    }
+
+    static MethodHandle constructor(String className, Class<?>... parameters) {
+        Class<?> type = type(className);
+        try {
+            MethodHandle constructor = lookup(type).findConstructor(type, MethodType.methodType(void.class, parameters));
+            return constructor.asType(erase(constructor.type()));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("No constructor " + className + MethodType.methodType(void.class,
+                    parameters), e);
+        }
+    }
+
+    static MethodHandle method(String className, String name, Class<?> returnType, Class<?>... parameters) {
+        Class<?> type = type(className);
+        try {
+            MethodHandle method = lookup(type).findVirtual(type, name, MethodType.methodType(returnType, parameters));
+            return method.asType(erase(method.type()));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("No method " + className + "." + name, e);
+        }
+    }
+
+    /**
+     * Replaces the classes of the default package by Object.
+     */
+    private static MethodType erase(MethodType type) {
+        MethodType erased = type;
+        for (int i = 0; i < type.parameterCount(); i++) {
+            if (isUnderTest(type.parameterType(i))) {
+                erased = erased.changeParameterType(i, Object.class);
+            }
+        }
+        return isUnderTest(type.returnType()) ? erased.changeReturnType(Object.class) : erased;
+    }
+
+    private static boolean isUnderTest(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && type.getPackageName().isEmpty();
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}